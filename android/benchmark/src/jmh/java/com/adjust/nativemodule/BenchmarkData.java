@@ -0,0 +1,121 @@
+//
+//  BenchmarkData.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import com.facebook.react.bridge.*;
+import com.adjust.sdk.*;
+
+/**
+ * Inputs shaped like the ones the bridge receives from JS and from the SDK callbacks.
+ */
+final class BenchmarkData {
+    static final String EVENT_TOKEN = "g3mfiw";
+
+    private BenchmarkData() {}
+
+    // Flat map of string parameters, like the callback and partner parameters of an event.
+    static JavaOnlyMap parameters(String prefix, int size) {
+        JavaOnlyMap map = new JavaOnlyMap();
+        for (int i = 0; i < size; i++) {
+            map.putString(prefix + "_key_" + i, "value_" + i);
+        }
+        return map;
+    }
+
+    // Map mixing every value type, with a nested map and array, like an AdjustConfig.
+    static JavaOnlyMap mixed(int size) {
+        JavaOnlyMap map = new JavaOnlyMap();
+        for (int i = 0; i < size; i++) {
+            switch (i % 5) {
+                case 0:
+                    map.putString("key_" + i, "value_" + i);
+                    break;
+                case 1:
+                    map.putInt("key_" + i, i);
+                    break;
+                case 2:
+                    map.putDouble("key_" + i, i + 0.5);
+                    break;
+                case 3:
+                    map.putBoolean("key_" + i, i % 2 == 0);
+                    break;
+                default:
+                    map.putNull("key_" + i);
+                    break;
+            }
+        }
+        map.putMap("nested", parameters("nested", 5));
+        map.putArray("array", array(5));
+        return map;
+    }
+
+    static JavaOnlyArray array(int size) {
+        JavaOnlyArray array = new JavaOnlyArray();
+        for (int i = 0; i < size; i++) {
+            switch (i % 4) {
+                case 0:
+                    array.pushString("value_" + i);
+                    break;
+                case 1:
+                    array.pushInt(i);
+                    break;
+                case 2:
+                    array.pushDouble(i + 0.5);
+                    break;
+                default:
+                    array.pushMap(parameters("item" + i, 2));
+                    break;
+            }
+        }
+        return array;
+    }
+
+    static JavaOnlyMap event(int parameterCount) {
+        JavaOnlyMap map = new JavaOnlyMap();
+        map.putString("eventToken", EVENT_TOKEN);
+        map.putString("revenue", "0.99");
+        map.putString("currency", "EUR");
+        map.putString("transactionId", "transaction_1");
+        map.putString("callbackId", "callback_1");
+        map.putMap("callbackParameters", parameters("callback", parameterCount));
+        map.putMap("partnerParameters", parameters("partner", parameterCount));
+        return map;
+    }
+
+    static AdjustAttribution attribution() {
+        AdjustAttribution attribution = new AdjustAttribution();
+        attribution.trackerToken = "abc123";
+        attribution.trackerName = "Organic";
+        attribution.network = "Organic";
+        attribution.campaign = "campaign";
+        attribution.adgroup = "adgroup";
+        attribution.creative = "creative";
+        attribution.clickLabel = "label";
+        attribution.adid = "7a2e1f9b3c4d5e6f7a8b9c0d1e2f3a4b";
+        return attribution;
+    }
+
+    static AdjustEventSuccess eventSuccess() {
+        AdjustEventSuccess eventSuccess = new AdjustEventSuccess();
+        eventSuccess.message = "Event tracked";
+        eventSuccess.timestamp = "2019-05-02T10:11:12.123Z+0200";
+        eventSuccess.adid = "7a2e1f9b3c4d5e6f7a8b9c0d1e2f3a4b";
+        eventSuccess.eventToken = EVENT_TOKEN;
+        eventSuccess.callbackId = "callback_1";
+        try {
+            eventSuccess.jsonResponse = new JSONObject(
+                    "{\"app_token\":\"2fm9gkqubvpc\",\"adid\":\"7a2e1f9b3c4d5e6f7a8b9c0d1e2f3a4b\","
+                    + "\"timestamp\":\"2019-05-02T10:11:12.123Z+0200\",\"message\":\"Event tracked\"}");
+        } catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+        return eventSuccess;
+    }
+}
@@ -0,0 +1,53 @@
+//
+//  CallbackMapBenchmark.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import org.openjdk.jmh.annotations.*;
+import com.facebook.react.bridge.*;
+import com.adjust.sdk.*;
+
+/**
+ * Building the payloads of the SDK callbacks sent to JS.
+ */
+@State(Scope.Benchmark)
+public class CallbackMapBenchmark {
+    private AdjustAttribution attribution;
+    private AdjustEventSuccess eventSuccess;
+    private AdjustJsonResponseHandler omitHandler;
+    private AdjustJsonResponseHandler handleHandler;
+
+    @Setup
+    public void setUp() {
+        attribution = BenchmarkData.attribution();
+        eventSuccess = BenchmarkData.eventSuccess();
+        omitHandler = new AdjustJsonResponseHandler();
+        omitHandler.configure(AdjustJsonResponseHandler.Mode.OMIT, 0);
+        handleHandler = new AdjustJsonResponseHandler();
+        handleHandler.configure(AdjustJsonResponseHandler.Mode.HANDLE, 0);
+    }
+
+    @Benchmark
+    public WritableMap attributionToMap() {
+        return AdjustUtil.attributionToMap(attribution, new JavaOnlyMap());
+    }
+
+    @Benchmark
+    public WritableMap eventSuccessToMap() {
+        return AdjustUtil.eventSuccessToMap(eventSuccess, null, new JavaOnlyMap());
+    }
+
+    @Benchmark
+    public WritableMap eventSuccessToMapOmitJson() {
+        return AdjustUtil.eventSuccessToMap(eventSuccess, omitHandler, new JavaOnlyMap());
+    }
+
+    @Benchmark
+    public WritableMap eventSuccessToMapJsonHandle() {
+        return AdjustUtil.eventSuccessToMap(eventSuccess, handleHandler, new JavaOnlyMap());
+    }
+}
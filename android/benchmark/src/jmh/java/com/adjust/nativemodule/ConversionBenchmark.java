@@ -0,0 +1,49 @@
+//
+//  ConversionBenchmark.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import java.util.List;
+import java.util.Map;
+import org.openjdk.jmh.annotations.*;
+import com.facebook.react.bridge.*;
+
+/**
+ * ReadableMap / ReadableArray to java.util conversions used when parsing configs and parameters.
+ */
+@State(Scope.Benchmark)
+public class ConversionBenchmark {
+    @Param({"10", "30"})
+    public int size;
+
+    private JavaOnlyMap map;
+    private JavaOnlyArray array;
+    private JavaOnlyMap nested;
+
+    @Setup
+    public void setUp() {
+        map = BenchmarkData.mixed(size);
+        array = BenchmarkData.array(size);
+        nested = new JavaOnlyMap();
+        nested.putMap("map", BenchmarkData.mixed(size));
+    }
+
+    @Benchmark
+    public Map<String, Object> toMap() {
+        return AdjustUtil.toMap(map);
+    }
+
+    @Benchmark
+    public List<Object> toList() {
+        return AdjustUtil.toList(array);
+    }
+
+    @Benchmark
+    public Object toObject() {
+        return AdjustUtil.toObject(nested, "map");
+    }
+}
@@ -0,0 +1,37 @@
+//
+//  TrackEventBenchmark.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import org.openjdk.jmh.annotations.*;
+import com.facebook.react.bridge.*;
+import com.adjust.sdk.*;
+
+/**
+ * Building an AdjustEvent out of the map passed to trackEvent, dominated by copying
+ * the callback and partner parameters.
+ *
+ * The allocations of the typical event are checked against a budget, see checkAllocations
+ * in build.gradle.
+ */
+@State(Scope.Benchmark)
+public class TrackEventBenchmark {
+    @Param({"10", "30"})
+    public int parameterCount;
+
+    private JavaOnlyMap event;
+
+    @Setup
+    public void setUp() {
+        event = BenchmarkData.event(parameterCount);
+    }
+
+    @Benchmark
+    public AdjustEvent toAdjustEvent() {
+        return AdjustUtil.toAdjustEvent(event);
+    }
+}
@@ -0,0 +1,155 @@
+//
+//  AdjustAdRevenueAggregator.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Sums up ad revenue records per source, network and currency, and submits one record per
+ * group once the window is over, either after an interval or after a number of records.
+ *
+ * Records are read with the keys of MoPub impression data, the ad revenue source the SDK
+ * supports. Records without a revenue are submitted on their own right away.
+ */
+final class AdjustAdRevenueAggregator {
+    static final String REVENUE_KEY = "publisher_revenue";
+    static final String NETWORK_KEY = "network_name";
+    static final String CURRENCY_KEY = "currency";
+    // Added to aggregated records, number of records which were summed up.
+    static final String IMPRESSIONS_KEY = "impressions";
+
+    interface Sink {
+        void submit(String source, JSONObject payload);
+
+        // Asks for flush(window) to be called once the interval is over.
+        void scheduleFlush(long window, long delayMs);
+    }
+
+    private static final class Group {
+        final String source;
+        final String network;
+        final String currency;
+        double revenue;
+        int impressions;
+
+        Group(String source, String network, String currency) {
+            this.source = source;
+            this.network = network;
+            this.currency = currency;
+        }
+    }
+
+    private final Sink sink;
+    private final LinkedHashMap<String, Group> groups = new LinkedHashMap<String, Group>();
+    private final AtomicLong rawCount = new AtomicLong();
+    private final AtomicLong submittedCount = new AtomicLong();
+    private volatile boolean isEnabled;
+    private long intervalMs;
+    private int maxCount;
+    private int pendingCount;
+    private long window;
+
+    AdjustAdRevenueAggregator(Sink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * @param intervalMs length of a window in milliseconds, 0 for no time limit
+     * @param maxCount number of records after which a window is over, 0 for no limit
+     */
+    synchronized void configure(long intervalMs, int maxCount) {
+        flush();
+        this.intervalMs = Math.max(intervalMs, 0L);
+        this.maxCount = Math.max(maxCount, 0);
+        this.isEnabled = this.intervalMs > 0 || this.maxCount > 0;
+    }
+
+    boolean isEnabled() {
+        return isEnabled;
+    }
+
+    synchronized void add(String source, JSONObject payload) {
+        rawCount.incrementAndGet();
+        double revenue = payload.optDouble(REVENUE_KEY);
+        if (Double.isNaN(revenue) || Double.isInfinite(revenue)) {
+            submit(source, payload);
+            return;
+        }
+
+        String network = payload.optString(NETWORK_KEY, null);
+        String currency = payload.optString(CURRENCY_KEY, null);
+        String key = source + '\u0000' + network + '\u0000' + currency;
+        Group group = groups.get(key);
+        if (group == null) {
+            group = new Group(source, network, currency);
+            groups.put(key, group);
+        }
+        group.revenue += revenue;
+        group.impressions++;
+
+        pendingCount++;
+        if (maxCount > 0 && pendingCount >= maxCount) {
+            flush();
+        } else if (pendingCount == 1 && intervalMs > 0) {
+            sink.scheduleFlush(window, intervalMs);
+        }
+    }
+
+    // Flushes the given window, unless it is already over.
+    synchronized void flush(long window) {
+        if (window == this.window) {
+            flush();
+        }
+    }
+
+    synchronized void flush() {
+        if (pendingCount == 0) {
+            return;
+        }
+
+        for (Group group : groups.values()) {
+            try {
+                JSONObject payload = new JSONObject();
+                if (group.network != null) {
+                    payload.put(NETWORK_KEY, group.network);
+                }
+                if (group.currency != null) {
+                    payload.put(CURRENCY_KEY, group.currency);
+                }
+                payload.put(REVENUE_KEY, group.revenue);
+                payload.put(IMPRESSIONS_KEY, group.impressions);
+                submit(group.source, payload);
+            } catch (JSONException e) {
+                AdjustLog.error("Can't build aggregated ad revenue: %s", e);
+            }
+        }
+        groups.clear();
+        pendingCount = 0;
+        window++;
+    }
+
+    long getRawCount() {
+        return rawCount.get();
+    }
+
+    long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    synchronized int getPendingCount() {
+        return pendingCount;
+    }
+
+    private void submit(String source, JSONObject payload) {
+        submittedCount.incrementAndGet();
+        sink.submit(source, payload);
+    }
+}
@@ -0,0 +1,79 @@
+//
+//  AdjustAttributionVersions.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import com.adjust.sdk.AdjustAttribution;
+
+/**
+ * Last attribution as it is handed to JS, with a version which goes up by one with every change,
+ * so that JS can be sent just the fields which changed.
+ */
+final class AdjustAttributionVersions {
+    static final class Change {
+        final long version;
+        final Map<String, String> fields;
+
+        Change(long version, Map<String, String> fields) {
+            this.version = version;
+            this.fields = fields;
+        }
+    }
+
+    private Map<String, String> fields = Collections.emptyMap();
+    private long version;
+
+    /**
+     * @return the new version with the fields which changed, or null if nothing changed
+     */
+    synchronized Change update(AdjustAttribution attribution) {
+        final Map<String, String> newFields = new LinkedHashMap<String, String>();
+        AdjustCore.writeAttribution(attribution, new AdjustMapWriter() {
+            @Override
+            public void putString(String key, String value) {
+                newFields.put(key, value);
+            }
+        });
+
+        Map<String, String> changedFields = new LinkedHashMap<String, String>();
+        for (Map.Entry<String, String> entry : newFields.entrySet()) {
+            if (!entry.getValue().equals(fields.get(entry.getKey()))) {
+                changedFields.put(entry.getKey(), entry.getValue());
+            }
+        }
+        // Fields are written as empty strings when missing, so do the same when the attribution is gone.
+        for (String key : fields.keySet()) {
+            if (!newFields.containsKey(key) && !"".equals(fields.get(key))) {
+                changedFields.put(key, "");
+            }
+        }
+        if (changedFields.isEmpty()) {
+            return null;
+        }
+
+        fields = Collections.unmodifiableMap(newFields);
+        version++;
+        return new Change(version, changedFields);
+    }
+
+    /**
+     * @return all fields of the current version, or null if the given version is the current one
+     */
+    synchronized Change getIfNewer(long version) {
+        if (version == this.version) {
+            return null;
+        }
+        return new Change(this.version, fields);
+    }
+
+    synchronized long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,100 @@
+//
+//  AdjustBridgeMetrics.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Call counts, native execution times and approximate payload sizes of the bridge
+ * methods and of the events emitted to JS. Recording only touches atomic counters,
+ * so it can stay enabled in production.
+ */
+final class AdjustBridgeMetrics {
+    // Upper bounds of the execution time buckets, in microseconds.
+    // Anything slower goes into one more, open ended bucket.
+    static final long[] BUCKET_BOUNDS_US = {10L, 100L, 1000L, 10000L, 100000L};
+
+    static final class Entry {
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong totalTimeNanos = new AtomicLong();
+        final AtomicLong maxTimeNanos = new AtomicLong();
+        final AtomicLong payloadSize = new AtomicLong();
+        final AtomicLongArray histogram = new AtomicLongArray(BUCKET_BOUNDS_US.length + 1);
+
+        private void record(long timeNanos, long payloadSize) {
+            count.incrementAndGet();
+            totalTimeNanos.addAndGet(timeNanos);
+            this.payloadSize.addAndGet(payloadSize);
+            histogram.incrementAndGet(bucketOf(timeNanos));
+
+            long max;
+            do {
+                max = maxTimeNanos.get();
+                if (timeNanos <= max) {
+                    break;
+                }
+            } while (!maxTimeNanos.compareAndSet(max, timeNanos));
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry> calls = new ConcurrentHashMap<String, Entry>();
+    private final ConcurrentHashMap<String, Entry> emissions = new ConcurrentHashMap<String, Entry>();
+
+    /**
+     * Records a bridge method call which started at startNanos (System.nanoTime) and has just finished.
+     */
+    void recordCall(String method, long startNanos, long payloadSize) {
+        entry(calls, method).record(System.nanoTime() - startNanos, payloadSize);
+    }
+
+    /**
+     * Records an event emission which started at startNanos (System.nanoTime) and has just finished.
+     */
+    void recordEmission(String eventName, long startNanos, long payloadSize) {
+        entry(emissions, eventName).record(System.nanoTime() - startNanos, payloadSize);
+    }
+
+    Map<String, Entry> getCalls() {
+        return calls;
+    }
+
+    Map<String, Entry> getEmissions() {
+        return emissions;
+    }
+
+    // Samples recorded concurrently with a reset may get lost.
+    void reset() {
+        calls.clear();
+        emissions.clear();
+    }
+
+    private static Entry entry(ConcurrentHashMap<String, Entry> entries, String name) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            Entry newEntry = new Entry();
+            entry = entries.putIfAbsent(name, newEntry);
+            if (entry == null) {
+                entry = newEntry;
+            }
+        }
+        return entry;
+    }
+
+    private static int bucketOf(long timeNanos) {
+        long timeMicros = timeNanos / 1000L;
+        for (int i = 0; i < BUCKET_BOUNDS_US.length; i++) {
+            if (timeMicros < BUCKET_BOUNDS_US[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_US.length;
+    }
+}
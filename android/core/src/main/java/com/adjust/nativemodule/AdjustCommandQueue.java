@@ -0,0 +1,289 @@
+//
+//  AdjustCommandQueue.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded multi-producer / single-consumer queue which runs bridge calls on a
+ * dedicated worker thread, in the order in which they were enqueued.
+ *
+ * The capacity and the overflow policy only apply to {@link DroppableCommand}s. Every other
+ * command, such as the control and privacy calls and the calls with a callback, is always
+ * queued, even when the queue is full.
+ */
+final class AdjustCommandQueue {
+    static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Command which may be given up when the queue is full, such as tracking.
+     */
+    interface DroppableCommand extends Runnable {
+        // Called instead of run when the command is dropped, outside of the queue lock.
+        void onDropped();
+    }
+
+    enum OverflowPolicy {
+        // Block the calling thread until there is room in the queue. Opt-in only: tracking calls
+        // made on the UI thread would stall it while the queue is full.
+        BLOCK,
+        // Reject the command which is being enqueued.
+        DROP_NEWEST,
+        // Evict the oldest pending droppable commands to make room for the new one, or reject it
+        // if there are none. This is the default.
+        DROP_OLDEST;
+
+        static OverflowPolicy fromString(String policy) {
+            if ("block".equals(policy)) {
+                return BLOCK;
+            } else if ("dropNewest".equals(policy)) {
+                return DROP_NEWEST;
+            }
+            return DROP_OLDEST;
+        }
+    }
+
+    private final String threadName;
+    private final ArrayDeque<Runnable> commands = new ArrayDeque<Runnable>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final AtomicLong processedCount = new AtomicLong();
+    private int capacity = DEFAULT_CAPACITY;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+    private long enqueuedCount;
+    private long droppedCount;
+    private int maxDepth;
+    private boolean isShutdown;
+    private Thread worker;
+
+    AdjustCommandQueue(String threadName) {
+        this.threadName = threadName;
+    }
+
+    void configure(int capacity, OverflowPolicy overflowPolicy) {
+        lock.lock();
+        try {
+            if (capacity > 0) {
+                this.capacity = capacity;
+            }
+            if (overflowPolicy != null) {
+                this.overflowPolicy = overflowPolicy;
+            }
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return false if the command has been dropped, or if the queue has been shut down
+     */
+    boolean enqueue(Runnable command) {
+        List<DroppableCommand> dropped = null;
+        lock.lock();
+        try {
+            if (isShutdown) {
+                dropped = droppedList(dropped, command);
+                return false;
+            }
+
+            if (command instanceof DroppableCommand) {
+                while (commands.size() >= capacity) {
+                    if (overflowPolicy == OverflowPolicy.BLOCK) {
+                        try {
+                            notFull.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            droppedCount++;
+                            dropped = droppedList(dropped, command);
+                            return false;
+                        }
+                        if (isShutdown) {
+                            dropped = droppedList(dropped, command);
+                            return false;
+                        }
+                        continue;
+                    }
+
+                    DroppableCommand oldest = overflowPolicy == OverflowPolicy.DROP_OLDEST ? pollOldestDroppable() : null;
+                    droppedCount++;
+                    if (oldest == null) {
+                        dropped = droppedList(dropped, command);
+                        return false;
+                    }
+                    dropped = droppedList(dropped, oldest);
+                }
+            }
+
+            commands.addLast(command);
+            enqueuedCount++;
+            if (commands.size() > maxDepth) {
+                maxDepth = commands.size();
+            }
+            startWorkerIfNeeded();
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+            if (dropped != null) {
+                for (DroppableCommand droppedCommand : dropped) {
+                    droppedCommand.onDropped();
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting new commands. Commands which are already queued are still run.
+     */
+    void shutdown() {
+        lock.lock();
+        try {
+            isShutdown = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getDepth() {
+        lock.lock();
+        try {
+            return commands.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getMaxDepth() {
+        lock.lock();
+        try {
+            return maxDepth;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getCapacity() {
+        lock.lock();
+        try {
+            return capacity;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getEnqueuedCount() {
+        lock.lock();
+        try {
+            return enqueuedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getDroppedCount() {
+        lock.lock();
+        try {
+            return droppedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getProcessedCount() {
+        return processedCount.get();
+    }
+
+    // Must be called with the lock held.
+    private DroppableCommand pollOldestDroppable() {
+        Iterator<Runnable> iterator = commands.iterator();
+        while (iterator.hasNext()) {
+            Runnable command = iterator.next();
+            if (command instanceof DroppableCommand) {
+                iterator.remove();
+                return (DroppableCommand)command;
+            }
+        }
+        return null;
+    }
+
+    // Only allocates once something is dropped, which is rare.
+    private static List<DroppableCommand> droppedList(List<DroppableCommand> dropped, Runnable command) {
+        if (!(command instanceof DroppableCommand)) {
+            return dropped;
+        }
+        if (dropped == null) {
+            dropped = new ArrayList<DroppableCommand>(1);
+        }
+        dropped.add((DroppableCommand)command);
+        return dropped;
+    }
+
+    // Must be called with the lock held.
+    private void startWorkerIfNeeded() {
+        if (worker != null) {
+            return;
+        }
+
+        worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                drain();
+            }
+        }, threadName);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void drain() {
+        while (true) {
+            Runnable command = takeNext();
+            if (command == null) {
+                return;
+            }
+
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                AdjustLog.error("Bridge command failed: %s", e);
+            }
+            processedCount.incrementAndGet();
+        }
+    }
+
+    private Runnable takeNext() {
+        lock.lock();
+        try {
+            while (commands.isEmpty()) {
+                if (isShutdown) {
+                    worker = null;
+                    return null;
+                }
+                notEmpty.await();
+            }
+
+            Runnable command = commands.pollFirst();
+            notFull.signal();
+            return command;
+        } catch (InterruptedException e) {
+            worker = null;
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,458 @@
+//
+//  AdjustCore.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.json.JSONException;
+import org.json.JSONObject;
+import com.adjust.sdk.*;
+
+/**
+ * Builds SDK objects out of the options passed in and maps the SDK callback objects
+ * into the payloads sent back, independently of the React Native bridge.
+ */
+final class AdjustCore {
+    /**
+     * Creates the config, which needs an Android context the core doesn't have.
+     */
+    interface ConfigFactory {
+        AdjustConfig newConfig(String appToken, String environment, boolean allowSuppressLogLevel);
+    }
+
+    private static final String ATTRIBUTION_TRACKER_TOKEN = "trackerToken";
+    private static final String ATTRIBUTION_TRACKER_NAME = "trackerName";
+    private static final String ATTRIBUTION_NETWORK = "network";
+    private static final String ATTRIBUTION_CAMPAIGN = "campaign";
+    private static final String ATTRIBUTION_ADGROUP = "adgroup";
+    private static final String ATTRIBUTION_CREATIVE = "creative";
+    private static final String ATTRIBUTION_CLICK_LABEL = "clickLabel";
+    private static final String ATTRIBUTION_ADID = "adid";
+
+    private static final String EVENT_SUCCESS_MESSAGE = "message";
+    private static final String EVENT_SUCCESS_TIMESTAMP = "timestamp";
+    private static final String EVENT_SUCCESS_ADID = "adid";
+    private static final String EVENT_SUCCESS_EVENT_TOKEN = "eventToken";
+    private static final String EVENT_SUCCESS_CALLBACK_ID = "callbackId";
+    private static final String EVENT_SUCCESS_JSON_RESPONSE = "jsonResponse";
+
+    private static final String EVENT_FAILED_MESSAGE = "message";
+    private static final String EVENT_FAILED_TIMESTAMP = "timestamp";
+    private static final String EVENT_FAILED_ADID = "adid";
+    private static final String EVENT_FAILED_EVENT_TOKEN = "eventToken";
+    private static final String EVENT_FAILED_CALLBACK_ID = "callbackId";
+    private static final String EVENT_FAILED_WILL_RETRY = "willRetry";
+    private static final String EVENT_FAILED_JSON_RESPONSE = "jsonResponse";
+
+    private static final String SESSION_SUCCESS_MESSAGE = "message";
+    private static final String SESSION_SUCCESS_TIMESTAMP = "timestamp";
+    private static final String SESSION_SUCCESS_ADID = "adid";
+    private static final String SESSION_SUCCESS_JSON_RESPONSE = "jsonResponse";
+
+    private static final String SESSION_FAILED_MESSAGE = "message";
+    private static final String SESSION_FAILED_TIMESTAMP = "timestamp";
+    private static final String SESSION_FAILED_ADID = "adid";
+    private static final String SESSION_FAILED_WILL_RETRY = "willRetry";
+    private static final String SESSION_FAILED_JSON_RESPONSE = "jsonResponse";
+
+    private static final String[] EVENT_STRING_FIELDS = {"eventToken", "revenue", "currency", "transactionId", "callbackId"};
+    private static final String[] EVENT_PARAMETER_FIELDS = {"callbackParameters", "partnerParameters"};
+
+    private AdjustCore() {}
+
+    static void writeAttribution(AdjustAttribution attribution, AdjustMapWriter map) {
+        if (null == attribution) {
+            return;
+        }
+
+        map.putString(ATTRIBUTION_TRACKER_TOKEN, null != attribution.trackerToken ? attribution.trackerToken : "");
+        map.putString(ATTRIBUTION_TRACKER_NAME, null != attribution.trackerName ? attribution.trackerName : "");
+        map.putString(ATTRIBUTION_NETWORK, null != attribution.network ? attribution.network : "");
+        map.putString(ATTRIBUTION_CAMPAIGN, null != attribution.campaign ? attribution.campaign : "");
+        map.putString(ATTRIBUTION_ADGROUP, null != attribution.adgroup ? attribution.adgroup : "");
+        map.putString(ATTRIBUTION_CREATIVE, null != attribution.creative ? attribution.creative : "");
+        map.putString(ATTRIBUTION_CLICK_LABEL, null != attribution.clickLabel ? attribution.clickLabel : "");
+        map.putString(ATTRIBUTION_ADID, null != attribution.adid ? attribution.adid : "");
+    }
+
+    static void writeEventSuccess(AdjustEventSuccess eventSuccess, @Nullable AdjustJsonResponseHandler jsonResponseHandler, AdjustMapWriter map) {
+        if (null == eventSuccess) {
+            return;
+        }
+
+        map.putString(EVENT_SUCCESS_MESSAGE, null != eventSuccess.message ? eventSuccess.message : "");
+        map.putString(EVENT_SUCCESS_TIMESTAMP, null != eventSuccess.timestamp ? eventSuccess.timestamp : "");
+        map.putString(EVENT_SUCCESS_ADID, null != eventSuccess.adid ? eventSuccess.adid : "");
+        map.putString(EVENT_SUCCESS_EVENT_TOKEN, null != eventSuccess.eventToken ? eventSuccess.eventToken : "");
+        map.putString(EVENT_SUCCESS_CALLBACK_ID, null != eventSuccess.callbackId ? eventSuccess.callbackId : "");
+        if (null != jsonResponseHandler) {
+            jsonResponseHandler.putJsonResponse(map, EVENT_SUCCESS_JSON_RESPONSE, eventSuccess.jsonResponse);
+        } else {
+            map.putString(EVENT_SUCCESS_JSON_RESPONSE, null != eventSuccess.jsonResponse ? eventSuccess.jsonResponse.toString() : "");
+        }
+    }
+
+    static void writeEventFailure(AdjustEventFailure eventFailure, @Nullable AdjustJsonResponseHandler jsonResponseHandler, AdjustMapWriter map) {
+        if (null == eventFailure) {
+            return;
+        }
+
+        map.putString(EVENT_FAILED_MESSAGE, null != eventFailure.message ? eventFailure.message : "");
+        map.putString(EVENT_FAILED_TIMESTAMP, null != eventFailure.timestamp ? eventFailure.timestamp : "");
+        map.putString(EVENT_FAILED_ADID, null != eventFailure.adid ? eventFailure.adid : "");
+        map.putString(EVENT_FAILED_EVENT_TOKEN, null != eventFailure.eventToken ? eventFailure.eventToken : "");
+        map.putString(EVENT_FAILED_CALLBACK_ID, null != eventFailure.callbackId ? eventFailure.callbackId : "");
+        map.putString(EVENT_FAILED_WILL_RETRY, eventFailure.willRetry ? "true" : "false");
+        if (null != jsonResponseHandler) {
+            jsonResponseHandler.putJsonResponse(map, EVENT_FAILED_JSON_RESPONSE, eventFailure.jsonResponse);
+        } else {
+            map.putString(EVENT_FAILED_JSON_RESPONSE, null != eventFailure.jsonResponse ? eventFailure.jsonResponse.toString() : "");
+        }
+    }
+
+    static void writeSessionSuccess(AdjustSessionSuccess sessionSuccess, @Nullable AdjustJsonResponseHandler jsonResponseHandler, AdjustMapWriter map) {
+        if (null == sessionSuccess) {
+            return;
+        }
+
+        map.putString(SESSION_SUCCESS_MESSAGE, null != sessionSuccess.message ? sessionSuccess.message : "");
+        map.putString(SESSION_SUCCESS_TIMESTAMP, null != sessionSuccess.timestamp ? sessionSuccess.timestamp : "");
+        map.putString(SESSION_SUCCESS_ADID, null != sessionSuccess.adid ? sessionSuccess.adid : "");
+        if (null != jsonResponseHandler) {
+            jsonResponseHandler.putJsonResponse(map, SESSION_SUCCESS_JSON_RESPONSE, sessionSuccess.jsonResponse);
+        } else {
+            map.putString(SESSION_SUCCESS_JSON_RESPONSE, null != sessionSuccess.jsonResponse ? sessionSuccess.jsonResponse.toString() : "");
+        }
+    }
+
+    static void writeSessionFailure(AdjustSessionFailure sessionFailure, @Nullable AdjustJsonResponseHandler jsonResponseHandler, AdjustMapWriter map) {
+        if (null == sessionFailure) {
+            return;
+        }
+
+        map.putString(SESSION_FAILED_MESSAGE, null != sessionFailure.message ? sessionFailure.message : "");
+        map.putString(SESSION_FAILED_TIMESTAMP, null != sessionFailure.timestamp ? sessionFailure.timestamp : "");
+        map.putString(SESSION_FAILED_ADID, null != sessionFailure.adid ? sessionFailure.adid : "");
+        map.putString(SESSION_FAILED_WILL_RETRY, sessionFailure.willRetry ? "true" : "false");
+        if (null != jsonResponseHandler) {
+            jsonResponseHandler.putJsonResponse(map, SESSION_FAILED_JSON_RESPONSE, sessionFailure.jsonResponse);
+        } else {
+            map.putString(SESSION_FAILED_JSON_RESPONSE, null != sessionFailure.jsonResponse ? sessionFailure.jsonResponse.toString() : "");
+        }
+    }
+
+    static String sdkVersionToString(String sdkPrefix, String sdkVersion) {
+        if (null == sdkVersion) {
+            return "";
+        }
+
+        return sdkPrefix + "@" + sdkVersion;
+    }
+
+    /**
+     * toAdjustEvent builds an {@link AdjustEvent} out of the fields in an {@link AdjustMapReader}.
+     *
+     * @param mapEvent The map containing the event fields.
+     * @return The event, or null if the fields don't describe a valid event.
+     */
+    static AdjustEvent toAdjustEvent(AdjustMapReader mapEvent) {
+        if (mapEvent == null) {
+            return null;
+        }
+
+        double revenue = -1.0;
+        String eventToken = null;
+        String currency = null;
+        String transactionId = null;
+        String callbackId = null;
+        AdjustMapReader callbackParameters = null;
+        AdjustMapReader partnerParameters = null;
+
+        // Event token.
+        if (mapEvent.hasValue("eventToken")) {
+            eventToken = mapEvent.getString("eventToken");
+        }
+
+        final AdjustEvent event = new AdjustEvent(eventToken);
+        if (!event.isValid()) {
+            return null;
+        }
+
+        // Revenue.
+        if (mapEvent.hasValue("revenue") || mapEvent.hasValue("currency")) {
+            try {
+                revenue = Double.parseDouble(mapEvent.getString("revenue"));
+            } catch (NumberFormatException ignore) {}
+            currency = mapEvent.getString("currency");
+            event.setRevenue(revenue, currency);
+        }
+
+        // Callback parameters.
+        // Parameters are streamed straight into the event, without an intermediate HashMap.
+        if (mapEvent.hasValue("callbackParameters")) {
+            callbackParameters = mapEvent.getMap("callbackParameters");
+            Iterator<String> iterator = callbackParameters.keys();
+            while (iterator.hasNext()) {
+                String key = iterator.next();
+                String value = callbackParameters.getStringValue(key);
+                if (null != value) {
+                    event.addCallbackParameter(key, value);
+                }
+            }
+        }
+
+        // Partner parameters.
+        if (mapEvent.hasValue("partnerParameters")) {
+            partnerParameters = mapEvent.getMap("partnerParameters");
+            Iterator<String> iterator = partnerParameters.keys();
+            while (iterator.hasNext()) {
+                String key = iterator.next();
+                String value = partnerParameters.getStringValue(key);
+                if (null != value) {
+                    event.addPartnerParameter(key, value);
+                }
+            }
+        }
+
+        // Revenue deduplication.
+        if (mapEvent.hasValue("transactionId")) {
+            transactionId = mapEvent.getString("transactionId");
+            if (null != transactionId) {
+                event.setOrderId(transactionId);
+            }
+        }
+
+        // Callback ID.
+        if (mapEvent.hasValue("callbackId")) {
+            callbackId = mapEvent.getString("callbackId");
+            if (null != callbackId) {
+                event.setCallbackId(callbackId);
+            }
+        }
+
+        return event;
+    }
+
+    /**
+     * toEventJson copies the fields read by {@link #toAdjustEvent} into a {@link JSONObject},
+     * e.g. to keep the event on disk.
+     *
+     * @param mapEvent The map containing the event fields.
+     * @return The event fields.
+     */
+    static JSONObject toEventJson(AdjustMapReader mapEvent) throws JSONException {
+        JSONObject json = new JSONObject();
+        for (String key : EVENT_STRING_FIELDS) {
+            if (mapEvent.hasValue(key)) {
+                json.put(key, mapEvent.getStringValue(key));
+            }
+        }
+        for (String key : EVENT_PARAMETER_FIELDS) {
+            AdjustMapReader parameters = mapEvent.hasValue(key) ? mapEvent.getMap(key) : null;
+            if (null == parameters) {
+                continue;
+            }
+
+            JSONObject jsonParameters = new JSONObject();
+            Iterator<String> iterator = parameters.keys();
+            while (iterator.hasNext()) {
+                String parameterKey = iterator.next();
+                String value = parameters.getStringValue(parameterKey);
+                if (null != value) {
+                    jsonParameters.put(parameterKey, value);
+                }
+            }
+            json.put(key, jsonParameters);
+        }
+        return json;
+    }
+
+    /**
+     * toAdjustConfig builds an {@link AdjustConfig} out of the options in an {@link AdjustMapReader}.
+     * Options which only concern the bridge are not handled here.
+     *
+     * @param factory Creates the config, which needs an Android context.
+     * @param mapConfig The map containing the config options.
+     * @return The config, or null if the options don't describe a valid config.
+     */
+    static AdjustConfig toAdjustConfig(ConfigFactory factory, AdjustMapReader mapConfig) {
+        if (mapConfig == null) {
+            return null;
+        }
+
+        String appToken = null;
+        String environment = null;
+        String logLevel = null;
+        String sdkPrefix = null;
+        String userAgent = null;
+        String processName = null;
+        String defaultTracker = null;
+        long secretId  = 0L;
+        long info1 = 0L;
+        long info2 = 0L;
+        long info3 = 0L;
+        long info4 = 0L;
+        double delayStart = 0.0;
+        boolean isDeviceKnown = false;
+        boolean sendInBackground = false;
+        boolean isLogLevelSuppress = false;
+        boolean eventBufferingEnabled = false;
+        boolean readMobileEquipmentIdentity = false;
+
+        // Suppress log level.
+        if (mapConfig.hasValue("logLevel")) {
+            logLevel = mapConfig.getString("logLevel");
+            if (logLevel.equals("SUPPRESS")) {
+                isLogLevelSuppress = true;
+            }
+        }
+
+        // App token.
+        if (mapConfig.hasValue("appToken")) {
+            appToken = mapConfig.getString("appToken");
+        }
+
+        // Environment.
+        if (mapConfig.hasValue("environment")) {
+            environment = mapConfig.getString("environment");
+        }
+
+        final AdjustConfig adjustConfig = factory.newConfig(appToken, environment, isLogLevelSuppress);
+        if (!adjustConfig.isValid()) {
+            return null;
+        }
+
+        // Log level.
+        if (mapConfig.hasValue("logLevel")) {
+            logLevel = mapConfig.getString("logLevel");
+            if (logLevel.equals("VERBOSE")) {
+                adjustConfig.setLogLevel(LogLevel.VERBOSE);
+            } else if (logLevel.equals("DEBUG")) {
+                adjustConfig.setLogLevel(LogLevel.DEBUG);
+            } else if (logLevel.equals("INFO")) {
+                adjustConfig.setLogLevel(LogLevel.INFO);
+            } else if (logLevel.equals("WARN")) {
+                adjustConfig.setLogLevel(LogLevel.WARN);
+            } else if (logLevel.equals("ERROR")) {
+                adjustConfig.setLogLevel(LogLevel.ERROR);
+            } else if (logLevel.equals("ASSERT")) {
+                adjustConfig.setLogLevel(LogLevel.ASSERT);
+            } else if (logLevel.equals("SUPPRESS")) {
+                adjustConfig.setLogLevel(LogLevel.SUPRESS);
+            } else {
+                adjustConfig.setLogLevel(LogLevel.INFO);
+            }
+        }
+
+        // Event buffering.
+        if (mapConfig.hasValue("eventBufferingEnabled")) {
+            eventBufferingEnabled = mapConfig.getBoolean("eventBufferingEnabled");
+            adjustConfig.setEventBufferingEnabled(eventBufferingEnabled);
+        }
+
+        // SDK prefix.
+        if (mapConfig.hasValue("sdkPrefix")) {
+            sdkPrefix = mapConfig.getString("sdkPrefix");
+            adjustConfig.setSdkPrefix(sdkPrefix);
+        }
+
+        // Main process name.
+        if (mapConfig.hasValue("processName")) {
+            processName = mapConfig.getString("processName");
+            adjustConfig.setProcessName(processName);
+        }
+
+        // Default tracker.
+        if (mapConfig.hasValue("defaultTracker")) {
+            defaultTracker = mapConfig.getString("defaultTracker");
+            adjustConfig.setDefaultTracker(defaultTracker);
+        }
+
+        // User agent.
+        if (mapConfig.hasValue("userAgent")) {
+            userAgent = mapConfig.getString("userAgent");
+            adjustConfig.setUserAgent(userAgent);
+        }
+
+        // App secret.
+        if (mapConfig.hasValue("secretId")
+                && mapConfig.hasValue("info1")
+                && mapConfig.hasValue("info2")
+                && mapConfig.hasValue("info3")
+                && mapConfig.hasValue("info4")) {
+            try {
+                secretId = Long.parseLong(mapConfig.getString("secretId"), 10);
+                info1 = Long.parseLong(mapConfig.getString("info1"), 10);
+                info2 = Long.parseLong(mapConfig.getString("info2"), 10);
+                info3 = Long.parseLong(mapConfig.getString("info3"), 10);
+                info4 = Long.parseLong(mapConfig.getString("info4"), 10);
+                adjustConfig.setAppSecret(secretId, info1, info2, info3, info4);
+            } catch (NumberFormatException ignore) {}
+        }
+
+        // Background tracking.
+        if (mapConfig.hasValue("sendInBackground")) {
+            sendInBackground = mapConfig.getBoolean("sendInBackground");
+            adjustConfig.setSendInBackground(sendInBackground);
+        }
+
+        // Set device known.
+        if (mapConfig.hasValue("isDeviceKnown")) {
+            isDeviceKnown = mapConfig.getBoolean("isDeviceKnown");
+            adjustConfig.setDeviceKnown(isDeviceKnown);
+        }
+
+        // Deprecated.
+        // Set read mobile equipment ID.
+        // if (mapConfig.hasValue("readMobileEquipmentIdentity")) {
+        //     readMobileEquipmentIdentity = mapConfig.getBoolean("readMobileEquipmentIdentity");
+        //     adjustConfig.setReadMobileEquipmentIdentity(readMobileEquipmentIdentity);
+        // }
+
+        // Delayed start.
+        if (mapConfig.hasValue("delayStart")) {
+            delayStart = mapConfig.getDouble("delayStart");
+            adjustConfig.setDelayStart(delayStart);
+        }
+
+        return adjustConfig;
+    }
+
+    /**
+     * changedKeys lists the keys whose values differ between two maps,
+     * including keys which are present in only one of them.
+     */
+    static Set<String> changedKeys(Map<String, Object> previous, Map<String, Object> current) {
+        Set<String> keys = new HashSet<>(previous.keySet());
+        keys.addAll(current.keySet());
+
+        Set<String> changed = new HashSet<>();
+        for (String key : keys) {
+            Object previousValue = previous.get(key);
+            Object currentValue = current.get(key);
+            if (previousValue == null ? currentValue != null : !previousValue.equals(currentValue)) {
+                changed.add(key);
+            }
+        }
+
+        return changed;
+    }
+
+    static boolean isFieldValid(String field) {
+        if (field != null) {
+            if (!field.equals("") && !field.equals("null")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
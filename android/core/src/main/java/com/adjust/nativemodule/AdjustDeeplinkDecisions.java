@@ -0,0 +1,46 @@
+//
+//  AdjustDeeplinkDecisions.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deferred deep links waiting for JS to decide whether they are launched.
+ *
+ * A decision is finished exactly once, either by JS or by the timeout, whichever comes first.
+ */
+final class AdjustDeeplinkDecisions {
+    static final class Decision {
+        final int id;
+        final String uri;
+        final long startNanos;
+
+        Decision(int id, String uri, long startNanos) {
+            this.id = id;
+            this.uri = uri;
+            this.startNanos = startNanos;
+        }
+    }
+
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final ConcurrentHashMap<Integer, Decision> pending = new ConcurrentHashMap<Integer, Decision>();
+
+    Decision begin(String uri) {
+        Decision decision = new Decision(nextId.incrementAndGet(), uri, System.nanoTime());
+        pending.put(decision.id, decision);
+        return decision;
+    }
+
+    /**
+     * @return the decision, or null if it has been finished already
+     */
+    Decision finish(int id) {
+        return pending.remove(id);
+    }
+}
@@ -0,0 +1,192 @@
+//
+//  AdjustEventJournal.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of events tracked before the SDK was started, replayed in order once it is.
+ *
+ * The file starts with the offset of the first record which hasn't been replayed yet, followed
+ * by records of [length][crc32][utf-8 payload]. A record torn by a crash fails its checksum and
+ * is cut off together with everything after it the next time the file is opened. The replay
+ * offset is moved forward after every replayed record, so a crash during replay repeats at most
+ * the record which was being replayed.
+ */
+final class AdjustEventJournal {
+    static final int DEFAULT_MAX_SIZE = 256 * 1024;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    interface Consumer {
+        void accept(String record);
+    }
+
+    private final File file;
+    private final int maxSize;
+    private RandomAccessFile journal;
+    private long replayOffset;
+    private long end;
+
+    AdjustEventJournal(File file, int maxSize) {
+        this.file = file;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return false if the record doesn't fit into the journal anymore or can't be written
+     */
+    synchronized boolean append(String record) {
+        byte[] payload = record.getBytes(UTF_8);
+        try {
+            open();
+            if (end + RECORD_HEADER_SIZE + payload.length > maxSize) {
+                AdjustLog.warn("Event journal is full, event dropped");
+                return false;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+            buffer.putInt(payload.length);
+            buffer.putInt(checksum(payload, payload.length));
+            buffer.put(payload);
+            journal.seek(end);
+            journal.write(buffer.array());
+            end += buffer.capacity();
+            return true;
+        } catch (IOException e) {
+            AdjustLog.error("Can't write to event journal: %s", e);
+            close();
+            return false;
+        }
+    }
+
+    /**
+     * Hands every record which hasn't been replayed yet to the consumer, oldest first,
+     * and empties the journal afterwards.
+     */
+    synchronized void replay(Consumer consumer) {
+        try {
+            open();
+            if (replayOffset >= end) {
+                return;
+            }
+
+            byte[] payload = new byte[0];
+            long position = replayOffset;
+            while (position < end) {
+                journal.seek(position);
+                int length = journal.readInt();
+                journal.readInt();
+                if (payload.length < length) {
+                    payload = new byte[length];
+                }
+                journal.readFully(payload, 0, length);
+                position += RECORD_HEADER_SIZE + length;
+
+                consumer.accept(new String(payload, 0, length, UTF_8));
+                writeReplayOffset(position);
+            }
+
+            truncate();
+        } catch (IOException e) {
+            AdjustLog.error("Can't replay event journal: %s", e);
+            close();
+        }
+    }
+
+    synchronized void clear() {
+        try {
+            open();
+            truncate();
+        } catch (IOException e) {
+            AdjustLog.error("Can't clear event journal: %s", e);
+            close();
+        }
+    }
+
+    private void open() throws IOException {
+        if (journal != null) {
+            return;
+        }
+
+        journal = new RandomAccessFile(file, "rw");
+        if (journal.length() < HEADER_SIZE) {
+            truncate();
+            return;
+        }
+
+        replayOffset = journal.readLong();
+        end = scan();
+        if (end < journal.length()) {
+            // Cut off the record torn by a crash.
+            journal.setLength(end);
+        }
+        if (replayOffset < HEADER_SIZE || replayOffset > end) {
+            replayOffset = end;
+        }
+    }
+
+    // Offset behind the last intact record.
+    private long scan() throws IOException {
+        long length = journal.length();
+        long position = HEADER_SIZE;
+        byte[] payload = new byte[0];
+        while (position + RECORD_HEADER_SIZE <= length) {
+            journal.seek(position);
+            int recordLength = journal.readInt();
+            int recordChecksum = journal.readInt();
+            if (recordLength < 0 || position + RECORD_HEADER_SIZE + recordLength > length) {
+                break;
+            }
+            if (payload.length < recordLength) {
+                payload = new byte[recordLength];
+            }
+            journal.readFully(payload, 0, recordLength);
+            if (checksum(payload, recordLength) != recordChecksum) {
+                break;
+            }
+            position += RECORD_HEADER_SIZE + recordLength;
+        }
+        return position;
+    }
+
+    private void truncate() throws IOException {
+        journal.setLength(HEADER_SIZE);
+        end = HEADER_SIZE;
+        writeReplayOffset(HEADER_SIZE);
+    }
+
+    private void writeReplayOffset(long offset) throws IOException {
+        journal.seek(0);
+        journal.writeLong(offset);
+        replayOffset = offset;
+    }
+
+    private void close() {
+        if (journal == null) {
+            return;
+        }
+
+        try {
+            journal.close();
+        } catch (IOException ignore) {}
+        journal = null;
+    }
+
+    private static int checksum(byte[] payload, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, length);
+        return (int)crc.getValue();
+    }
+}
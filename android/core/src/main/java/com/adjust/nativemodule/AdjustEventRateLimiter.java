@@ -0,0 +1,125 @@
+//
+//  AdjustEventRateLimiter.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket per event token, limiting how many events with the same token are tracked.
+ *
+ * Every bucket is a single AtomicLong holding the time at which it will be full again
+ * (the generic cell rate algorithm), so taking a token is one compare-and-set without locks.
+ */
+final class AdjustEventRateLimiter {
+    static final long DROPPED = -1L;
+    // Deferred events which would have to wait longer than this are dropped instead.
+    static final long MAX_DEFER_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    enum Policy {
+        // Drop events which exceed the limit.
+        DROP,
+        // Track events which exceed the limit once a token is available again.
+        DEFER;
+
+        static Policy fromString(String policy) {
+            if ("defer".equals(policy)) {
+                return DEFER;
+            }
+            return DROP;
+        }
+    }
+
+    private static final class Settings {
+        final long intervalNanos;
+        final long burstToleranceNanos;
+        final Policy policy;
+
+        Settings(long intervalNanos, long burstToleranceNanos, Policy policy) {
+            this.intervalNanos = intervalNanos;
+            this.burstToleranceNanos = burstToleranceNanos;
+            this.policy = policy;
+        }
+    }
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<String, AtomicLong>();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong deferredCount = new AtomicLong();
+    private volatile Settings settings;
+
+    /**
+     * @param eventsPerMinute sustained rate per event token, 0 or less disables the limit
+     * @param burst number of events per token which may be tracked at once
+     */
+    void configure(double eventsPerMinute, int burst, Policy policy) {
+        if (eventsPerMinute <= 0) {
+            settings = null;
+            return;
+        }
+
+        long intervalNanos = (long)(TimeUnit.MINUTES.toNanos(1) / eventsPerMinute);
+        settings = new Settings(intervalNanos, Math.max(burst - 1, 0) * intervalNanos, policy);
+        buckets.clear();
+    }
+
+    boolean isEnabled() {
+        return settings != null;
+    }
+
+    /**
+     * @return 0 if the event can be tracked right away, the delay in nanoseconds after which
+     * a deferred event can be tracked, or {@link #DROPPED}
+     */
+    long acquire(String eventToken) {
+        Settings settings = this.settings;
+        if (settings == null) {
+            return 0L;
+        }
+
+        AtomicLong bucket = bucket(eventToken);
+        long now = System.nanoTime();
+        while (true) {
+            long fullAt = bucket.get();
+            long start = fullAt == Long.MIN_VALUE || fullAt - now < 0 ? now : fullAt;
+            long delay = start - now - settings.burstToleranceNanos;
+            if (delay > 0 && (settings.policy == Policy.DROP || delay > MAX_DEFER_NANOS)) {
+                droppedCount.incrementAndGet();
+                return DROPPED;
+            }
+
+            if (bucket.compareAndSet(fullAt, start + settings.intervalNanos)) {
+                if (delay > 0) {
+                    deferredCount.incrementAndGet();
+                    return delay;
+                }
+                return 0L;
+            }
+        }
+    }
+
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    long getDeferredCount() {
+        return deferredCount.get();
+    }
+
+    private AtomicLong bucket(String eventToken) {
+        AtomicLong bucket = buckets.get(eventToken);
+        if (bucket == null) {
+            AtomicLong newBucket = new AtomicLong(Long.MIN_VALUE);
+            bucket = buckets.putIfAbsent(eventToken, newBucket);
+            if (bucket == null) {
+                bucket = newBucket;
+            }
+        }
+        return bucket;
+    }
+}
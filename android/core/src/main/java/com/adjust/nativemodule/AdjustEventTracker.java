@@ -0,0 +1,129 @@
+//
+//  AdjustEventTracker.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import com.adjust.sdk.AdjustEvent;
+
+/**
+ * Path of a tracked event: dropping repeated revenue events, rate limiting, building the
+ * AdjustEvent and handing it to the SDK, or to the journal while the SDK hasn't been started.
+ *
+ * Scheduling deferred events is left to the caller, everything else only needs an {@link AdjustSdk}.
+ */
+final class AdjustEventTracker {
+    // Returned by track once the event has been dealt with.
+    static final long DONE = 0L;
+
+    private final AdjustSdk sdk;
+    private final AdjustEventRateLimiter rateLimiter;
+    private final AdjustEventJournal journal;
+    private final AdjustTransactionIdCache transactionIdCache;
+
+    AdjustEventTracker(AdjustSdk sdk,
+                       AdjustEventRateLimiter rateLimiter,
+                       AdjustEventJournal journal,
+                       AdjustTransactionIdCache transactionIdCache) {
+        this.sdk = sdk;
+        this.rateLimiter = rateLimiter;
+        this.journal = journal;
+        this.transactionIdCache = transactionIdCache;
+    }
+
+    /**
+     * @param isRateLimited false for deferred events, which have taken their token already
+     * @param isSdkStarted whether the SDK has been started, events tracked before are journaled
+     * @return DONE, or the delay in nanoseconds after which the deferred event has to be
+     *         tracked again, without being rate limited
+     */
+    long track(AdjustMapReader mapEvent, boolean isRateLimited, boolean isSdkStarted) {
+        // Retries of the same revenue event are dropped here, before any SDK work is done for them.
+        String transactionId = mapEvent.hasValue("transactionId") ? mapEvent.getString("transactionId") : null;
+        if (transactionId != null && transactionIdCache.isDuplicate(transactionId)) {
+            return DONE;
+        }
+
+        // Only events admitted by the rate limiter are worth converting.
+        if (isRateLimited) {
+            long delayNanos = acquireRateLimit(mapEvent);
+            if (delayNanos == AdjustEventRateLimiter.DROPPED) {
+                AdjustLog.warn("Event rate limit exceeded, event dropped");
+                return DONE;
+            }
+            if (delayNanos > 0L) {
+                return delayNanos;
+            }
+        }
+
+        final AdjustEvent event = AdjustCore.toAdjustEvent(mapEvent);
+        if (event == null) {
+            return DONE;
+        }
+
+        if (transactionId != null) {
+            transactionIdCache.add(transactionId);
+        }
+        if (!isSdkStarted) {
+            journal(mapEvent);
+            return DONE;
+        }
+
+        sdk.trackEvent(event);
+        return DONE;
+    }
+
+    // Tracks the events journaled before the SDK was started, in order.
+    void replayJournal() {
+        journal.replay(new AdjustEventJournal.Consumer() {
+            @Override
+            public void accept(String record) {
+                try {
+                    final AdjustEvent event = AdjustCore.toAdjustEvent(new JsonMapReader(new JSONObject(record)));
+                    if (event != null) {
+                        sdk.trackEvent(event);
+                    }
+                } catch (JSONException e) {
+                    AdjustLog.error("Can't replay journaled event: %s", e);
+                }
+            }
+        });
+    }
+
+    // Deferred events which can't wait for their turn, because the bridge shuts down, are
+    // tracked on the next start, like the events tracked before the SDK was started.
+    void journalDeferred(AdjustMapReader mapEvent) {
+        journal(mapEvent);
+    }
+
+    // The SDK state is gone, e.g. after GDPR forget me, so is everything kept for it here.
+    void forget() {
+        journal.clear();
+        transactionIdCache.clear();
+    }
+
+    // Revenue events are never limited. Deferred events keep the token they have taken
+    // and are tracked later without being limited again, possibly after newer events.
+    private long acquireRateLimit(AdjustMapReader mapEvent) {
+        if (!rateLimiter.isEnabled() || mapEvent.hasValue("revenue") || !mapEvent.hasValue("eventToken")) {
+            return 0L;
+        }
+
+        return rateLimiter.acquire(mapEvent.getString("eventToken"));
+    }
+
+    // Events tracked before the SDK has been started are kept on disk until it is,
+    // so they survive both a late create and an app restart in between.
+    private void journal(AdjustMapReader mapEvent) {
+        try {
+            journal.append(AdjustCore.toEventJson(mapEvent).toString());
+        } catch (JSONException e) {
+            AdjustLog.error("Can't journal event: %s", e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+//
+//  AdjustJsonResponseHandler.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.json.JSONObject;
+
+/**
+ * Decides how the jsonResponse of tracking callbacks is sent to JS.
+ */
+final class AdjustJsonResponseHandler {
+    static final String JSON_RESPONSE_HANDLE = "jsonResponseHandle";
+    private static final int MAX_STORED_RESPONSES = 64;
+
+    enum Mode {
+        // Send the whole response as a string.
+        FULL,
+        // Don't send the response at all.
+        OMIT,
+        // Send the response only if it doesn't exceed the configured length.
+        CAPPED,
+        // Keep the response natively and send a handle which can be resolved on demand.
+        HANDLE;
+
+        static Mode fromString(String mode) {
+            if ("omit".equals(mode)) {
+                return OMIT;
+            } else if ("capped".equals(mode)) {
+                return CAPPED;
+            } else if ("handle".equals(mode)) {
+                return HANDLE;
+            }
+            return FULL;
+        }
+    }
+
+    private volatile Mode mode = Mode.FULL;
+    private volatile int maxLength = Integer.MAX_VALUE;
+    private long nextHandle;
+    private final Map<String, JSONObject> responses = new LinkedHashMap<String, JSONObject>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JSONObject> eldest) {
+            return size() > MAX_STORED_RESPONSES;
+        }
+    };
+
+    void configure(Mode mode, int maxLength) {
+        this.mode = mode;
+        this.maxLength = maxLength > 0 ? maxLength : Integer.MAX_VALUE;
+    }
+
+    void putJsonResponse(AdjustMapWriter map, String key, JSONObject jsonResponse) {
+        switch (mode) {
+            case OMIT:
+                return;
+            case CAPPED:
+                if (null == jsonResponse) {
+                    map.putString(key, "");
+                    return;
+                }
+                String capped = jsonResponse.toString();
+                if (capped.length() <= maxLength) {
+                    map.putString(key, capped);
+                }
+                return;
+            case HANDLE:
+                if (null != jsonResponse) {
+                    map.putString(JSON_RESPONSE_HANDLE, storeJsonResponse(jsonResponse));
+                }
+                return;
+            default:
+                map.putString(key, null != jsonResponse ? jsonResponse.toString() : "");
+        }
+    }
+
+    synchronized String getJsonResponse(String handle) {
+        JSONObject jsonResponse = responses.get(handle);
+        return null != jsonResponse ? jsonResponse.toString() : null;
+    }
+
+    private synchronized String storeJsonResponse(JSONObject jsonResponse) {
+        String handle = String.valueOf(++nextHandle);
+        responses.put(handle, jsonResponse);
+        return handle;
+    }
+}
@@ -0,0 +1,92 @@
+//
+//  AdjustListenerCounts.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Number of active JS listeners per event name.
+ *
+ * Removals reported by a NativeEventEmitter only come with a number of listeners, they are
+ * attributed to the event names added last.
+ */
+final class AdjustListenerCounts {
+    private final ConcurrentHashMap<String, AtomicInteger> counts = new ConcurrentHashMap<String, AtomicInteger>();
+    // Event names in the order their listeners were added, guarded by itself.
+    private final ArrayDeque<String> additions = new ArrayDeque<String>();
+
+    void increment(String eventName) {
+        synchronized (additions) {
+            additions.addLast(eventName);
+        }
+        count(eventName).incrementAndGet();
+    }
+
+    // Listeners already taken back by decrementLatest aren't counted twice.
+    void decrement(String eventName) {
+        synchronized (additions) {
+            if (!additions.removeLastOccurrence(eventName)) {
+                return;
+            }
+        }
+        decrementCount(eventName);
+    }
+
+    // Removes the listeners added last, as many as given.
+    void decrementLatest(int listenerCount) {
+        for (int i = 0; i < listenerCount; i++) {
+            String eventName;
+            synchronized (additions) {
+                eventName = additions.pollLast();
+            }
+            if (eventName == null) {
+                return;
+            }
+            decrementCount(eventName);
+        }
+    }
+
+    boolean hasListeners(String eventName) {
+        AtomicInteger count = counts.get(eventName);
+        return count != null && count.get() > 0;
+    }
+
+    Map<String, AtomicInteger> asMap() {
+        return counts;
+    }
+
+    private AtomicInteger count(String eventName) {
+        AtomicInteger count = counts.get(eventName);
+        if (count == null) {
+            AtomicInteger newCount = new AtomicInteger();
+            count = counts.putIfAbsent(eventName, newCount);
+            if (count == null) {
+                count = newCount;
+            }
+        }
+        return count;
+    }
+
+    private void decrementCount(String eventName) {
+        AtomicInteger count = counts.get(eventName);
+        if (count == null) {
+            return;
+        }
+
+        int current;
+        do {
+            current = count.get();
+            if (current == 0) {
+                return;
+            }
+        } while (!count.compareAndSet(current, current - 1));
+    }
+}
@@ -0,0 +1,50 @@
+//
+//  AdjustLog.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import java.util.Locale;
+
+/**
+ * Logging of the core. The bridge routes it to the SDK logger, see StaticAdjustSdk.
+ * Until then, e.g. when the core runs on a plain JVM, messages are written to System.err.
+ */
+final class AdjustLog {
+    interface Logger {
+        void warn(String format, Object... parameters);
+
+        void error(String format, Object... parameters);
+    }
+
+    private static final Logger SYSTEM_ERR = new Logger() {
+        @Override
+        public void warn(String format, Object... parameters) {
+            System.err.println("Adjust warning: " + String.format(Locale.US, format, parameters));
+        }
+
+        @Override
+        public void error(String format, Object... parameters) {
+            System.err.println("Adjust error: " + String.format(Locale.US, format, parameters));
+        }
+    };
+
+    private static volatile Logger logger = SYSTEM_ERR;
+
+    private AdjustLog() {}
+
+    static void setLogger(Logger logger) {
+        AdjustLog.logger = logger != null ? logger : SYSTEM_ERR;
+    }
+
+    static void warn(String format, Object... parameters) {
+        logger.warn(format, parameters);
+    }
+
+    static void error(String format, Object... parameters) {
+        logger.error(format, parameters);
+    }
+}
@@ -0,0 +1,39 @@
+//
+//  AdjustMapReader.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import java.util.Iterator;
+import javax.annotation.Nullable;
+
+/**
+ * Read access to a map of options, e.g. the config or an event passed in from JS,
+ * without depending on where the map comes from.
+ */
+interface AdjustMapReader {
+    /**
+     * @return true if the key is present and its value isn't null
+     */
+    boolean hasValue(String key);
+
+    String getString(String key);
+
+    boolean getBoolean(String key);
+
+    double getDouble(String key);
+
+    @Nullable
+    AdjustMapReader getMap(String key);
+
+    Iterator<String> keys();
+
+    /**
+     * @return the string representation of the value, or null for null values
+     */
+    @Nullable
+    String getStringValue(String key);
+}
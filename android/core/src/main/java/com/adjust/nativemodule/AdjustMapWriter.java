@@ -0,0 +1,15 @@
+//
+//  AdjustMapWriter.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+/**
+ * Write access to the map a callback payload is built into.
+ */
+interface AdjustMapWriter {
+    void putString(String key, String value);
+}
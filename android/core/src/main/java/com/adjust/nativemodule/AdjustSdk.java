@@ -0,0 +1,55 @@
+//
+//  AdjustSdk.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import org.json.JSONObject;
+import com.adjust.sdk.AdjustAttribution;
+import com.adjust.sdk.AdjustConfig;
+import com.adjust.sdk.AdjustEvent;
+
+/**
+ * Calls into the Adjust SDK made by the core. The bridge passes in the static SDK API,
+ * while code running the core on a plain JVM can pass in a fake.
+ */
+interface AdjustSdk {
+    void onCreate(AdjustConfig config);
+
+    void onResume();
+
+    void onPause();
+
+    void trackEvent(AdjustEvent event);
+
+    void trackAdRevenue(String source, JSONObject payload);
+
+    void setEnabled(boolean enabled);
+
+    void setOfflineMode(boolean enabled);
+
+    void sendFirstPackages();
+
+    void addSessionCallbackParameter(String key, String value);
+
+    void addSessionPartnerParameter(String key, String value);
+
+    void removeSessionCallbackParameter(String key);
+
+    void removeSessionPartnerParameter(String key);
+
+    void resetSessionCallbackParameters();
+
+    void resetSessionPartnerParameters();
+
+    String getAdid();
+
+    AdjustAttribution getAttribution();
+
+    boolean isEnabled();
+
+    String getSdkVersion();
+}
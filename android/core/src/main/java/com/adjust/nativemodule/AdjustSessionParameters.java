@@ -0,0 +1,98 @@
+//
+//  AdjustSessionParameters.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mirror of the session callback or partner parameters which were handed to the SDK,
+ * so that a whole set of parameters can be applied with just the changes it requires.
+ *
+ * The SDK persists its parameters but doesn't expose them. Until the mirror has been
+ * reset once in this process, it doesn't know them and a set starts with a reset.
+ */
+final class AdjustSessionParameters {
+    enum Type {
+        CALLBACK,
+        PARTNER
+    }
+
+    private final Type type;
+    private final AdjustSdk sdk;
+    private HashMap<String, String> parameters;
+
+    AdjustSessionParameters(Type type, AdjustSdk sdk) {
+        this.type = type;
+        this.sdk = sdk;
+    }
+
+    synchronized void add(String key, String value) {
+        if (parameters != null) {
+            parameters.put(key, value);
+        }
+        if (type == Type.CALLBACK) {
+            sdk.addSessionCallbackParameter(key, value);
+        } else {
+            sdk.addSessionPartnerParameter(key, value);
+        }
+    }
+
+    synchronized void remove(String key) {
+        if (parameters != null) {
+            parameters.remove(key);
+        }
+        if (type == Type.CALLBACK) {
+            sdk.removeSessionCallbackParameter(key);
+        } else {
+            sdk.removeSessionPartnerParameter(key);
+        }
+    }
+
+    synchronized void reset() {
+        parameters = new HashMap<String, String>();
+        if (type == Type.CALLBACK) {
+            sdk.resetSessionCallbackParameters();
+        } else {
+            sdk.resetSessionPartnerParameters();
+        }
+    }
+
+    /**
+     * Replaces the parameters with the given ones, only removing and adding the keys which changed.
+     */
+    synchronized void set(Map<String, String> newParameters) {
+        if (parameters == null) {
+            reset();
+        }
+
+        List<String> removedKeys = new ArrayList<String>();
+        for (String key : parameters.keySet()) {
+            if (!newParameters.containsKey(key)) {
+                removedKeys.add(key);
+            }
+        }
+        for (String key : removedKeys) {
+            remove(key);
+        }
+
+        for (Map.Entry<String, String> entry : newParameters.entrySet()) {
+            if (entry.getValue().equals(parameters.get(entry.getKey()))) {
+                continue;
+            }
+            add(entry.getKey(), entry.getValue());
+        }
+    }
+
+    // The SDK state is gone, e.g. after GDPR forget me, the next set starts with a reset again.
+    synchronized void forget() {
+        parameters = null;
+    }
+}
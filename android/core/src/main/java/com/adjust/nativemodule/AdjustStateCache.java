@@ -0,0 +1,96 @@
+//
+//  AdjustStateCache.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import com.adjust.sdk.AdjustAttribution;
+
+/**
+ * Last known SDK state, kept natively so getters can be answered without
+ * calling into the SDK.
+ */
+final class AdjustStateCache {
+    private final AdjustSdk sdk;
+    private volatile String adid;
+    private volatile AdjustAttribution attribution;
+    private volatile Boolean isEnabled;
+    private volatile String sdkVersion;
+    private volatile boolean isForgotten;
+
+    AdjustStateCache(AdjustSdk sdk) {
+        this.sdk = sdk;
+    }
+
+    String getAdid() {
+        String adid = this.adid;
+        if (adid == null) {
+            adid = sdk.getAdid();
+            this.adid = adid;
+        }
+        return adid;
+    }
+
+    AdjustAttribution getAttribution() {
+        AdjustAttribution attribution = this.attribution;
+        if (attribution == null) {
+            attribution = sdk.getAttribution();
+            this.attribution = attribution;
+        }
+        return attribution;
+    }
+
+    boolean isEnabled() {
+        Boolean isEnabled = this.isEnabled;
+        if (isEnabled == null) {
+            isEnabled = sdk.isEnabled();
+            this.isEnabled = isEnabled;
+        }
+        return isEnabled;
+    }
+
+    String getSdkVersion() {
+        String sdkVersion = this.sdkVersion;
+        if (sdkVersion == null) {
+            sdkVersion = sdk.getSdkVersion();
+            this.sdkVersion = sdkVersion;
+        }
+        return sdkVersion;
+    }
+
+    void onAttributionChanged(AdjustAttribution attribution) {
+        this.attribution = attribution;
+        if (attribution != null && attribution.adid != null) {
+            this.adid = attribution.adid;
+        }
+    }
+
+    void onAdidRead(String adid) {
+        if (adid != null) {
+            this.adid = adid;
+        }
+    }
+
+    // Re-reads everything from the SDK, e.g. after it has been (re)initialised or toggled.
+    void refresh() {
+        this.adid = sdk.getAdid();
+        this.attribution = sdk.getAttribution();
+        this.isEnabled = sdk.isEnabled() && !isForgotten;
+        this.sdkVersion = sdk.getSdkVersion();
+    }
+
+    // The SDK applies setEnabled on its own executor, so reading it back right away would
+    // return the old value. The requested value is cached instead.
+    void onEnabledSet(boolean isEnabled) {
+        this.isEnabled = isEnabled && !isForgotten;
+    }
+
+    // After forget me the SDK stays disabled, whatever is set later in this process.
+    void onForgotten() {
+        this.isForgotten = true;
+        this.isEnabled = false;
+    }
+}
@@ -0,0 +1,87 @@
+//
+//  AdjustSubscribers.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Copy-on-write set of subscribers which can change at any time without locks.
+ *
+ * Dispatching reads a single reference, so with nobody subscribed it costs one volatile read.
+ */
+final class AdjustSubscribers<T> {
+    private static final Object[] EMPTY = new Object[0];
+
+    interface Visitor<T> {
+        void visit(T subscriber);
+    }
+
+    private final AtomicReference<Object[]> subscribers = new AtomicReference<Object[]>(EMPTY);
+
+    boolean add(T subscriber) {
+        while (true) {
+            Object[] current = subscribers.get();
+            for (Object existing : current) {
+                if (existing == subscriber) {
+                    return false;
+                }
+            }
+
+            Object[] updated = new Object[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, current.length);
+            updated[current.length] = subscriber;
+            if (subscribers.compareAndSet(current, updated)) {
+                return true;
+            }
+        }
+    }
+
+    boolean remove(T subscriber) {
+        while (true) {
+            Object[] current = subscribers.get();
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == subscriber) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return false;
+            }
+
+            Object[] updated = EMPTY;
+            if (current.length > 1) {
+                updated = new Object[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, index);
+                System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+            }
+            if (subscribers.compareAndSet(current, updated)) {
+                return true;
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return subscribers.get().length == 0;
+    }
+
+    // Most recently added subscriber, or null if there is none.
+    @SuppressWarnings("unchecked")
+    T getNewest() {
+        Object[] current = subscribers.get();
+        return current.length > 0 ? (T)current[current.length - 1] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(Visitor<? super T> visitor) {
+        for (Object subscriber : subscribers.get()) {
+            visitor.visit((T)subscriber);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+//
+//  AdjustTransactionIdCache.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transaction IDs of the most recently tracked revenue events, so that repeats can be
+ * dropped before they reach the SDK.
+ *
+ * The IDs are kept in an LRU and appended to a file, which is read back on first use
+ * after a restart. The file is rewritten with just the cached IDs once it has grown to
+ * twice the capacity or turns out to be cut off.
+ */
+final class AdjustTransactionIdCache {
+    static final int DEFAULT_CAPACITY = 1000;
+
+    private final File file;
+    private final int capacity;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private LinkedHashMap<String, Boolean> transactionIds;
+    private DataOutputStream output;
+    private int fileRecordCount;
+
+    AdjustTransactionIdCache(File file, int capacity) {
+        this.file = file;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return true if the transaction ID has been tracked before, the repeat is counted as dropped
+     */
+    synchronized boolean isDuplicate(String transactionId) {
+        load();
+        if (transactionIds.get(transactionId) == null) {
+            return false;
+        }
+
+        droppedCount.incrementAndGet();
+        return true;
+    }
+
+    synchronized void add(String transactionId) {
+        load();
+        if (transactionIds.put(transactionId, Boolean.TRUE) != null) {
+            return;
+        }
+
+        if (fileRecordCount >= 2 * capacity) {
+            rewrite();
+            return;
+        }
+
+        try {
+            if (output == null) {
+                output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+            }
+            output.writeUTF(transactionId);
+            output.flush();
+            fileRecordCount++;
+        } catch (IOException e) {
+            AdjustLog.error("Can't persist transaction ID: %s", e);
+            closeOutput();
+        }
+    }
+
+    synchronized void clear() {
+        load();
+        transactionIds.clear();
+        rewrite();
+    }
+
+    synchronized int size() {
+        load();
+        return transactionIds.size();
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void load() {
+        if (transactionIds != null) {
+            return;
+        }
+
+        transactionIds = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        };
+        if (!file.exists()) {
+            return;
+        }
+
+        boolean isComplete = false;
+        DataInputStream input = null;
+        try {
+            input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            while (true) {
+                transactionIds.put(input.readUTF(), Boolean.TRUE);
+                fileRecordCount++;
+            }
+        } catch (EOFException e) {
+            isComplete = true;
+        } catch (IOException e) {
+            AdjustLog.error("Can't read transaction IDs: %s", e);
+        } finally {
+            if (input != null) {
+                try {
+                    input.close();
+                } catch (IOException ignore) {}
+            }
+        }
+
+        if (!isComplete || fileRecordCount >= 2 * capacity) {
+            rewrite();
+        }
+    }
+
+    // Replaces the file with the IDs currently in the cache, oldest first.
+    private void rewrite() {
+        closeOutput();
+        File tmpFile = new File(file.getPath() + ".tmp");
+        DataOutputStream tmpOutput = null;
+        try {
+            tmpOutput = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)));
+            for (String transactionId : transactionIds.keySet()) {
+                tmpOutput.writeUTF(transactionId);
+            }
+            tmpOutput.close();
+            tmpOutput = null;
+            if (!tmpFile.renameTo(file)) {
+                throw new IOException("Can't rename " + tmpFile);
+            }
+            fileRecordCount = transactionIds.size();
+        } catch (IOException e) {
+            AdjustLog.error("Can't rewrite transaction IDs: %s", e);
+        } finally {
+            if (tmpOutput != null) {
+                try {
+                    tmpOutput.close();
+                } catch (IOException ignore) {}
+            }
+        }
+    }
+
+    private void closeOutput() {
+        if (output == null) {
+            return;
+        }
+
+        try {
+            output.close();
+        } catch (IOException ignore) {}
+        output = null;
+    }
+}
@@ -0,0 +1,64 @@
+//
+//  JsonMapReader.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import java.util.Iterator;
+import javax.annotation.Nullable;
+import org.json.JSONObject;
+
+/**
+ * {@link AdjustMapReader} backed by a {@link JSONObject}.
+ */
+final class JsonMapReader implements AdjustMapReader {
+    private final JSONObject json;
+
+    JsonMapReader(JSONObject json) {
+        this.json = json;
+    }
+
+    @Override
+    public boolean hasValue(String key) {
+        return json.has(key) && !json.isNull(key);
+    }
+
+    @Override
+    public String getString(String key) {
+        return json.optString(key, null);
+    }
+
+    @Override
+    public boolean getBoolean(String key) {
+        return json.optBoolean(key);
+    }
+
+    @Override
+    public double getDouble(String key) {
+        return json.optDouble(key);
+    }
+
+    @Override
+    @Nullable
+    public AdjustMapReader getMap(String key) {
+        JSONObject value = json.optJSONObject(key);
+        return null != value ? new JsonMapReader(value) : null;
+    }
+
+    @Override
+    public Iterator<String> keys() {
+        return json.keys();
+    }
+
+    @Override
+    @Nullable
+    public String getStringValue(String key) {
+        if (json.isNull(key)) {
+            return null;
+        }
+        return json.optString(key, null);
+    }
+}
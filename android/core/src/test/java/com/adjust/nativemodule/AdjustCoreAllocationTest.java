@@ -0,0 +1,149 @@
+//
+//  AdjustCoreAllocationTest.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+import com.adjust.sdk.AdjustEvent;
+
+/**
+ * toAdjustEvent streams the callback and partner parameters straight into the event. It has to
+ * allocate less than copying them through an intermediate map first, as it did before.
+ */
+public class AdjustCoreAllocationTest {
+    private static final int PARAMETER_COUNT = 10;
+    private static final int ITERATIONS = 20000;
+
+    // Keeps the events reachable, so that building them can't be optimised away.
+    private static volatile AdjustEvent sink;
+
+    private interface Conversion {
+        AdjustEvent toAdjustEvent(AdjustMapReader mapEvent);
+    }
+
+    @Test
+    public void streamingAllocatesLessThanCopyingThroughMap() throws JSONException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+
+        AdjustMapReader mapEvent = new JsonMapReader(typicalEvent());
+        Conversion streaming = new Conversion() {
+            @Override
+            public AdjustEvent toAdjustEvent(AdjustMapReader mapEvent) {
+                return AdjustCore.toAdjustEvent(mapEvent);
+            }
+        };
+        Conversion copying = new Conversion() {
+            @Override
+            public AdjustEvent toAdjustEvent(AdjustMapReader mapEvent) {
+                return toAdjustEventThroughMap(mapEvent);
+            }
+        };
+
+        assertNotNull(streaming.toAdjustEvent(mapEvent));
+        assertNotNull(copying.toAdjustEvent(mapEvent));
+
+        // Warm up both, so that neither is measured while being compiled.
+        measure(threads, streaming, mapEvent);
+        measure(threads, copying, mapEvent);
+
+        long streamingBytes = measure(threads, streaming, mapEvent);
+        long copyingBytes = measure(threads, copying, mapEvent);
+        assertTrue(String.format("streaming allocates %d B/op, copying through a map %d B/op", streamingBytes, copyingBytes),
+                streamingBytes < copyingBytes);
+    }
+
+    // Bytes allocated per conversion by the current thread.
+    private static long measure(com.sun.management.ThreadMXBean threads, Conversion conversion, AdjustMapReader mapEvent) {
+        long threadId = Thread.currentThread().getId();
+        long start = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = conversion.toAdjustEvent(mapEvent);
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - start) / ITERATIONS;
+    }
+
+    // A typical event, with revenue and 10 callback and 10 partner parameters.
+    private static JSONObject typicalEvent() throws JSONException {
+        JSONObject event = new JSONObject();
+        event.put("eventToken", "g3mfiw");
+        event.put("revenue", "0.99");
+        event.put("currency", "EUR");
+        event.put("transactionId", "transaction_1");
+        event.put("callbackId", "callback_1");
+        event.put("callbackParameters", parameters("callback"));
+        event.put("partnerParameters", parameters("partner"));
+        return event;
+    }
+
+    private static JSONObject parameters(String prefix) throws JSONException {
+        JSONObject parameters = new JSONObject();
+        for (int i = 0; i < PARAMETER_COUNT; i++) {
+            parameters.put(prefix + "_key_" + i, "value_" + i);
+        }
+        return parameters;
+    }
+
+    // The conversion as it was before parameters were streamed: every parameter map is first
+    // copied into a HashMap, the way AdjustUtil.toMap did, and the copy is added to the event.
+    private static AdjustEvent toAdjustEventThroughMap(AdjustMapReader mapEvent) {
+        AdjustEvent event = new AdjustEvent(mapEvent.getString("eventToken"));
+        if (!event.isValid()) {
+            return null;
+        }
+
+        if (mapEvent.hasValue("revenue") || mapEvent.hasValue("currency")) {
+            double revenue = -1.0;
+            try {
+                revenue = Double.parseDouble(mapEvent.getString("revenue"));
+            } catch (NumberFormatException ignore) {}
+            event.setRevenue(revenue, mapEvent.getString("currency"));
+        }
+
+        if (mapEvent.hasValue("callbackParameters")) {
+            for (Map.Entry<String, Object> entry : toMap(mapEvent.getMap("callbackParameters")).entrySet()) {
+                event.addCallbackParameter(entry.getKey(), entry.getValue().toString());
+            }
+        }
+        if (mapEvent.hasValue("partnerParameters")) {
+            for (Map.Entry<String, Object> entry : toMap(mapEvent.getMap("partnerParameters")).entrySet()) {
+                event.addPartnerParameter(entry.getKey(), entry.getValue().toString());
+            }
+        }
+
+        if (mapEvent.hasValue("transactionId")) {
+            event.setOrderId(mapEvent.getString("transactionId"));
+        }
+        if (mapEvent.hasValue("callbackId")) {
+            event.setCallbackId(mapEvent.getString("callbackId"));
+        }
+        return event;
+    }
+
+    private static Map<String, Object> toMap(AdjustMapReader map) {
+        Map<String, Object> result = new HashMap<String, Object>();
+        Iterator<String> iterator = map.keys();
+        while (iterator.hasNext()) {
+            String key = iterator.next();
+            String value = map.getStringValue(key);
+            if (null != value) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+}
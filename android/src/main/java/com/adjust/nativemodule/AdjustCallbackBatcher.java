@@ -0,0 +1,94 @@
+//
+//  AdjustCallbackBatcher.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import android.os.Handler;
+import android.os.Looper;
+import java.util.ArrayList;
+import java.util.List;
+import com.facebook.react.bridge.*;
+
+/**
+ * Collects SDK callbacks natively and hands them over to JS as a single
+ * adjust_batch event, either after a short delay or when flushed explicitly.
+ */
+final class AdjustCallbackBatcher {
+    static final String BATCH_EVENT_NAME = "adjust_batch";
+    static final long DEFAULT_INTERVAL_MS = 16L;
+    private static final int MAX_BATCH_SIZE = 64;
+    private static final String BATCH_EVENTS = "events";
+    private static final String BATCH_EVENT_NAME_KEY = "name";
+    private static final String BATCH_EVENT_PAYLOAD = "payload";
+
+    interface Sink {
+        void emit(String eventName, WritableMap params);
+    }
+
+    private final Sink sink;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable flushRunnable = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+    private final List<String> pendingNames = new ArrayList<String>();
+    private final List<WritableMap> pendingParams = new ArrayList<WritableMap>();
+    private volatile boolean isEnabled;
+    private long intervalMs = DEFAULT_INTERVAL_MS;
+    private boolean isFlushScheduled;
+
+    AdjustCallbackBatcher(Sink sink) {
+        this.sink = sink;
+    }
+
+    synchronized void configure(boolean isEnabled, long intervalMs) {
+        this.isEnabled = isEnabled;
+        this.intervalMs = intervalMs > 0 ? intervalMs : DEFAULT_INTERVAL_MS;
+    }
+
+    boolean isEnabled() {
+        return isEnabled;
+    }
+
+    synchronized void add(String eventName, WritableMap params) {
+        pendingNames.add(eventName);
+        pendingParams.add(params);
+        if (pendingNames.size() >= MAX_BATCH_SIZE) {
+            flush();
+        } else if (!isFlushScheduled) {
+            isFlushScheduled = true;
+            handler.postDelayed(flushRunnable, intervalMs);
+        }
+    }
+
+    // Building and emitting the batch happens under the lock so batches reach JS in order.
+    synchronized void flush() {
+        if (isFlushScheduled) {
+            handler.removeCallbacks(flushRunnable);
+            isFlushScheduled = false;
+        }
+        if (pendingNames.isEmpty()) {
+            return;
+        }
+
+        WritableArray events = Arguments.createArray();
+        for (int i = 0; i < pendingNames.size(); i++) {
+            WritableMap event = Arguments.createMap();
+            event.putString(BATCH_EVENT_NAME_KEY, pendingNames.get(i));
+            event.putMap(BATCH_EVENT_PAYLOAD, pendingParams.get(i));
+            events.pushMap(event);
+        }
+        pendingNames.clear();
+        pendingParams.clear();
+
+        WritableMap batch = Arguments.createMap();
+        batch.putArray(BATCH_EVENTS, events);
+        sink.emit(BATCH_EVENT_NAME, batch);
+    }
+}
@@ -0,0 +1,58 @@
+//
+//  AdjustDeeplinks.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import android.content.Context;
+import android.content.Intent;
+import android.net.Uri;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import com.adjust.sdk.*;
+
+/**
+ * Hands deep links to the SDK straight from the host Activity, without waiting for the JS bundle.
+ *
+ * Call handleIntent from Activity.onCreate (when there is no saved instance state) and from
+ * onNewIntent. Deep links handled here are remembered, so the Adjust.appWillOpenUrl call JS
+ * makes for the same link later on doesn't pass it to the SDK a second time.
+ */
+public final class AdjustDeeplinks {
+    // Links JS hasn't reported yet. Bounded, in case the app never reports them from JS.
+    private static final int MAX_PENDING_URLS = 16;
+    private static final Map<String, Boolean> PENDING_URLS = new LinkedHashMap<String, Boolean>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_PENDING_URLS;
+        }
+    };
+
+    private AdjustDeeplinks() {}
+
+    public static void handleIntent(Context context, Intent intent) {
+        if (intent == null) {
+            return;
+        }
+
+        Uri uri = intent.getData();
+        if (uri == null) {
+            return;
+        }
+
+        synchronized (PENDING_URLS) {
+            PENDING_URLS.put(uri.toString(), Boolean.TRUE);
+        }
+        Adjust.appWillOpenUrl(uri, context.getApplicationContext());
+    }
+
+    // Called for links reported from JS, true if the link has been handled natively already.
+    static boolean consume(String url) {
+        synchronized (PENDING_URLS) {
+            return PENDING_URLS.remove(url) != null;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+//
+//  AdjustInitializer.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import android.app.Activity;
+import android.app.Application;
+import android.net.Uri;
+import android.os.Bundle;
+import android.util.Log;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Map;
+import org.json.JSONException;
+import org.json.JSONObject;
+import com.facebook.react.bridge.*;
+import com.adjust.sdk.*;
+
+/**
+ * Starts the Adjust SDK from a bundled JSON config before the JS bundle is loaded.
+ *
+ * Call one of the start methods from Application.onCreate. The config uses the same
+ * keys as the JS AdjustConfig. A later Adjust.create call from JS binds to the already
+ * running SDK instead of initialising it again.
+ *
+ * Whichever side starts the SDK, the config it was started with is kept here, so repeated
+ * create calls after JS reloads only re-bind the callbacks.
+ */
+public final class AdjustInitializer {
+    private static final String TAG = "AdjustBridge";
+    // Sent by the JS AdjustConfig as well, keep both in sync.
+    private static final String SDK_PREFIX = "react-native4.18.2";
+    private static final AdjustSdk SDK = StaticAdjustSdk.INSTANCE;
+    private static final Listeners LISTENERS = new Listeners();
+    private static volatile boolean isStarted;
+    // Deep link decision of the bundled config, for as long as no module is attached.
+    private static volatile boolean shouldLaunchDeeplink = true;
+    // Config the SDK was started with, from native code or from JS.
+    private static Map<String, Object> startConfig;
+
+    private AdjustInitializer() {}
+
+    public static boolean start(Application application, String assetName) {
+        try {
+            return start(application, application.getAssets().open(assetName));
+        } catch (IOException e) {
+            Log.e(TAG, "Can't open Adjust config asset " + assetName, e);
+            return false;
+        }
+    }
+
+    public static boolean start(Application application, int rawResourceId) {
+        return start(application, application.getResources().openRawResource(rawResourceId));
+    }
+
+    public static boolean isStarted() {
+        return isStarted;
+    }
+
+    private static synchronized boolean start(Application application, InputStream configStream) {
+        if (startConfig != null) {
+            return isStarted;
+        }
+
+        AdjustStartupTimings.mark(AdjustStartupTimings.CONFIG_PARSE_STARTED);
+        ReadableMap mapConfig;
+        try {
+            JSONObject jsonConfig = new JSONObject(readFully(configStream));
+            // The SDK reports the same prefix as when it's started from JS, so a later create
+            // from JS doesn't see a changed config.
+            if (!jsonConfig.has("sdkPrefix")) {
+                jsonConfig.put("sdkPrefix", SDK_PREFIX);
+            }
+            mapConfig = AdjustUtil.toReadableMap(jsonConfig);
+        } catch (IOException e) {
+            Log.e(TAG, "Can't read Adjust config", e);
+            return false;
+        } catch (JSONException e) {
+            Log.e(TAG, "Can't parse Adjust config", e);
+            return false;
+        }
+
+        final AdjustConfig adjustConfig = AdjustUtil.toAdjustConfig(application, mapConfig);
+        if (adjustConfig == null) {
+            return false;
+        }
+
+        if (mapConfig.hasKey("shouldLaunchDeeplink") && !mapConfig.isNull("shouldLaunchDeeplink")) {
+            shouldLaunchDeeplink = mapConfig.getBoolean("shouldLaunchDeeplink");
+        }
+
+        AdjustStartupTimings.mark(AdjustStartupTimings.CONFIG_PARSED);
+
+        setListeners(adjustConfig);
+        application.registerActivityLifecycleCallbacks(LISTENERS);
+        AdjustStartupTimings.mark(AdjustStartupTimings.SDK_CREATE_STARTED);
+        SDK.onCreate(adjustConfig);
+        AdjustStartupTimings.mark(AdjustStartupTimings.SDK_CREATED);
+        startConfig = mapConfig.toHashMap();
+        isStarted = true;
+        return true;
+    }
+
+    // Callbacks are forwarded to whichever modules are attached at the time, so the SDK
+    // never has to be initialised again when the JS side is reloaded or listeners change.
+    static void setListeners(AdjustConfig adjustConfig) {
+        adjustConfig.setOnAttributionChangedListener(LISTENERS);
+        adjustConfig.setOnEventTrackingSucceededListener(LISTENERS);
+        adjustConfig.setOnEventTrackingFailedListener(LISTENERS);
+        adjustConfig.setOnSessionTrackingSucceededListener(LISTENERS);
+        adjustConfig.setOnSessionTrackingFailedListener(LISTENERS);
+        adjustConfig.setOnDeeplinkResponseListener(LISTENERS);
+    }
+
+    static synchronized Map<String, Object> getStartConfig() {
+        return startConfig;
+    }
+
+    static synchronized void onStarted(Map<String, Object> config) {
+        startConfig = config;
+    }
+
+    // The SDK has been torn down (test runs only), the next create has to start it again.
+    static synchronized void reset() {
+        startConfig = null;
+    }
+
+    // Every module bound to the SDK gets its callbacks, e.g. also the one of a headless JS task.
+    static void attach(AdjustModule module) {
+        LISTENERS.modules.add(module);
+    }
+
+    static void detach(AdjustModule module) {
+        LISTENERS.modules.remove(module);
+    }
+
+    private static String readFully(InputStream inputStream) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, "UTF-8"));
+        try {
+            StringBuilder builder = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                builder.append(line).append('\n');
+            }
+            return builder.toString();
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static final class Listeners implements Application.ActivityLifecycleCallbacks,
+                OnAttributionChangedListener,
+                OnEventTrackingSucceededListener,
+                OnEventTrackingFailedListener,
+                OnSessionTrackingSucceededListener,
+                OnSessionTrackingFailedListener,
+                OnDeeplinkResponseListener {
+        private final AdjustSubscribers<AdjustModule> modules = new AdjustSubscribers<AdjustModule>();
+
+        @Override
+        public void onActivityResumed(Activity activity) {
+            SDK.onResume();
+        }
+
+        @Override
+        public void onActivityPaused(Activity activity) {
+            SDK.onPause();
+        }
+
+        @Override
+        public void onActivityCreated(Activity activity, Bundle savedInstanceState) {}
+
+        @Override
+        public void onActivityStarted(Activity activity) {}
+
+        @Override
+        public void onActivityStopped(Activity activity) {}
+
+        @Override
+        public void onActivitySaveInstanceState(Activity activity, Bundle outState) {}
+
+        @Override
+        public void onActivityDestroyed(Activity activity) {}
+
+        @Override
+        public void onAttributionChanged(final AdjustAttribution attribution) {
+            // Versions are kept even while no module is attached, so they never fall behind.
+            final AdjustAttributionVersions.Change change = AdjustModule.updateAttributionVersion(attribution);
+            modules.forEach(new AdjustSubscribers.Visitor<AdjustModule>() {
+                @Override
+                public void visit(AdjustModule module) {
+                    module.onAttributionChanged(attribution, change);
+                }
+            });
+        }
+
+        @Override
+        public void onFinishedEventTrackingSucceeded(final AdjustEventSuccess event) {
+            if (modules.isEmpty()) {
+                return;
+            }
+
+            modules.forEach(new AdjustSubscribers.Visitor<AdjustModule>() {
+                @Override
+                public void visit(AdjustModule module) {
+                    module.onFinishedEventTrackingSucceeded(event);
+                }
+            });
+        }
+
+        @Override
+        public void onFinishedEventTrackingFailed(final AdjustEventFailure event) {
+            if (modules.isEmpty()) {
+                return;
+            }
+
+            modules.forEach(new AdjustSubscribers.Visitor<AdjustModule>() {
+                @Override
+                public void visit(AdjustModule module) {
+                    module.onFinishedEventTrackingFailed(event);
+                }
+            });
+        }
+
+        @Override
+        public void onFinishedSessionTrackingSucceeded(final AdjustSessionSuccess session) {
+            final boolean isFirstSession = AdjustStartupTimings.mark(AdjustStartupTimings.FIRST_SESSION_TRACKED);
+            if (modules.isEmpty()) {
+                return;
+            }
+
+            modules.forEach(new AdjustSubscribers.Visitor<AdjustModule>() {
+                @Override
+                public void visit(AdjustModule module) {
+                    module.onFinishedSessionTrackingSucceeded(session);
+                    if (isFirstSession) {
+                        module.onStartupFinished();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void onFinishedSessionTrackingFailed(final AdjustSessionFailure session) {
+            if (modules.isEmpty()) {
+                return;
+            }
+
+            modules.forEach(new AdjustSubscribers.Visitor<AdjustModule>() {
+                @Override
+                public void visit(AdjustModule module) {
+                    module.onFinishedSessionTrackingFailed(session);
+                }
+            });
+        }
+
+        // Only the most recently attached module decides, so a deep link is launched at most once.
+        @Override
+        public boolean launchReceivedDeeplink(Uri uri) {
+            AdjustModule module = modules.getNewest();
+            if (module != null) {
+                return module.launchReceivedDeeplink(uri);
+            }
+            return shouldLaunchDeeplink;
+        }
+    }
+}
@@ -8,11 +8,23 @@
 
 package com.adjust.nativemodule;
 
+import android.content.ActivityNotFoundException;
+import android.content.Context;
+import android.content.Intent;
 import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Set;
 import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 import org.json.JSONObject;
 import org.json.JSONException;
@@ -20,215 +32,347 @@ import com.facebook.react.bridge.*;
 import com.facebook.react.modules.core.*;
 import com.adjust.sdk.*;
 
-public class AdjustModule extends ReactContextBaseJavaModule implements LifecycleEventListener,
-                OnAttributionChangedListener,
-                OnEventTrackingSucceededListener,
-                OnEventTrackingFailedListener,
-                OnSessionTrackingSucceededListener,
-                OnSessionTrackingFailedListener,
-                OnDeeplinkResponseListener {
+public class AdjustModule extends AdjustModuleSpec implements LifecycleEventListener {
+    static final String NAME = "Adjust";
     private static String TAG = "AdjustBridge";
-    private boolean attributionCallback;
-    private boolean eventTrackingSucceededCallback;
-    private boolean eventTrackingFailedCallback;
-    private boolean sessionTrackingSucceededCallback;
-    private boolean sessionTrackingFailedCallback;
-    private boolean deferredDeeplinkCallback;
-    private boolean shouldLaunchDeeplink = true;
+    // Config options which only concern the bridge and can be changed on an already running SDK.
+    private static final Set<String> BRIDGE_CONFIG_KEYS = new HashSet<String>(Arrays.asList(
+            "shouldLaunchDeeplink",
+            "jsonResponseMode",
+            "jsonResponseMaxLength",
+            "callbackDeliveryMode",
+            "callbackBatchInterval",
+            "ingestionQueueCapacity",
+            "ingestionQueueOverflowPolicy",
+            "eventRateLimitPerMinute",
+            "eventRateLimitBurst",
+            "eventRateLimitPolicy",
+            "adRevenueAggregationInterval",
+            "adRevenueAggregationMaxCount",
+            "deferredDeeplinkDecisionTimeout"));
+    private static final String EVENT_JOURNAL_FILE_NAME = "AdjustBridgeEventJournal";
+    // Process wide, modules created after JS reloads share the same file.
+    private static AdjustEventJournal eventJournal;
+    private static final String TRANSACTION_ID_CACHE_FILE_NAME = "AdjustBridgeTransactionIds";
+    private static AdjustTransactionIdCache transactionIdCache;
+    private static final AdjustSessionParameters sessionCallbackParameters = new AdjustSessionParameters(AdjustSessionParameters.Type.CALLBACK, StaticAdjustSdk.INSTANCE);
+    private static final AdjustSessionParameters sessionPartnerParameters = new AdjustSessionParameters(AdjustSessionParameters.Type.PARTNER, StaticAdjustSdk.INSTANCE);
+    private static final AdjustAttributionVersions attributionVersions = new AdjustAttributionVersions();
+    private volatile boolean shouldLaunchDeeplink = true;
+    private volatile long deferredDeeplinkDecisionTimeoutMs;
+    private final AdjustDeeplinkDecisions deeplinkDecisions = new AdjustDeeplinkDecisions();
+    private final AdjustSdk sdk = StaticAdjustSdk.INSTANCE;
+    private final AdjustCommandQueue commandQueue = new AdjustCommandQueue("AdjustBridge");
+    private final AdjustJsonResponseHandler jsonResponseHandler = new AdjustJsonResponseHandler();
+    private final AdjustListenerCounts listenerCounts = new AdjustListenerCounts();
+    private final AdjustStateCache stateCache = new AdjustStateCache(sdk);
+    private final AdjustBridgeMetrics metrics = new AdjustBridgeMetrics();
+    private final AdjustEventRateLimiter eventRateLimiter = new AdjustEventRateLimiter();
+    private final AdjustEventTracker eventTracker;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    // Rate limited events waiting on the handler, journaled instead once the bridge shuts down.
+    // Guards isShutdown as well.
+    private final Set<DeferredEvent> deferredEvents = new HashSet<DeferredEvent>();
+    private boolean isShutdown;
+    private final AdjustAdRevenueAggregator adRevenueAggregator = new AdjustAdRevenueAggregator(new AdjustAdRevenueAggregator.Sink() {
+        @Override
+        public void submit(String source, JSONObject payload) {
+            sdk.trackAdRevenue(source, payload);
+        }
+
+        @Override
+        public void scheduleFlush(final long window, long delayMs) {
+            handler.postDelayed(new Runnable() {
+                @Override
+                public void run() {
+                    enqueue("flushAdRevenue", 0L, new Runnable() {
+                        @Override
+                        public void run() {
+                            adRevenueAggregator.flush(window);
+                        }
+                    });
+                }
+            }, delayMs);
+        }
+    });
+    private final AdjustCallbackBatcher callbackBatcher = new AdjustCallbackBatcher(new AdjustCallbackBatcher.Sink() {
+        @Override
+        public void emit(String eventName, WritableMap params) {
+            // The map is consumed once it is emitted, so it has to be measured before.
+            long payloadSize = AdjustUtil.estimatePayloadSize(params);
+            long start = System.nanoTime();
+            emitEvent(getReactApplicationContext(), eventName, params);
+            metrics.recordEmission(eventName, start, payloadSize);
+        }
+    });
 
     public AdjustModule(ReactApplicationContext reactContext) {
         super(reactContext);
+        eventTracker = new AdjustEventTracker(sdk, eventRateLimiter, getEventJournal(reactContext), getTransactionIdCache(reactContext));
     }
 
     @Override
     public String getName() {
-        return "Adjust";
+        return NAME;
     }
 
     @Override
     public void initialize() {
+        AdjustStartupTimings.mark(AdjustStartupTimings.MODULE_INITIALIZED);
+        // The module is created lazily, possibly after the host has resumed.
+        // In that case onHostResume is called right away on registration.
         getReactApplicationContext().addLifecycleEventListener(this);
     }
 
+    @Override
+    public void onCatalystInstanceDestroy() {
+        AdjustInitializer.detach(this);
+        // Pending commands still run after the shutdown, so the open window isn't lost on reload.
+        flushAdRevenue();
+        journalDeferredEvents();
+        commandQueue.shutdown();
+    }
+
     @Override
     public void onHostPause() {
-        Adjust.onPause();
+        // Deliver whatever is still buffered before the app goes to background.
+        callbackBatcher.flush();
+        flushAdRevenue();
+        // When started natively the SDK follows the activity lifecycle on its own.
+        if (AdjustInitializer.isStarted()) {
+            return;
+        }
+
+        commandQueue.enqueue(new Runnable() {
+            @Override
+            public void run() {
+                sdk.onPause();
+            }
+        });
     }
 
     @Override
     public void onHostResume() {
-        Adjust.onResume();
+        if (AdjustInitializer.isStarted()) {
+            return;
+        }
+
+        commandQueue.enqueue(new Runnable() {
+            @Override
+            public void run() {
+                sdk.onResume();
+            }
+        });
     }
 
     @Override
     public void onHostDestroy() {}
 
-    @Override
-    public void onAttributionChanged(AdjustAttribution attribution) {
-        sendEvent(getReactApplicationContext(), "adjust_attribution", AdjustUtil.attributionToMap(attribution));
-    }
+    // The SDK callbacks below are registered by AdjustInitializer, which forwards them to every
+    // attached module.
 
-    @Override
-    public void onFinishedEventTrackingSucceeded(AdjustEventSuccess event) {
-        sendEvent(getReactApplicationContext(), "adjust_eventTrackingSucceeded", AdjustUtil.eventSuccessToMap(event));
-    }
+    // Called once, after the first session has been tracked successfully.
+    void onStartupFinished() {
+        if (!listenerCounts.hasListeners("adjust_startupReport")) {
+            return;
+        }
 
-    @Override
-    public void onFinishedEventTrackingFailed(AdjustEventFailure event) {
-        sendEvent(getReactApplicationContext(), "adjust_eventTrackingFailed", AdjustUtil.eventFailureToMap(event));
+        sendEvent(getReactApplicationContext(), "adjust_startupReport", AdjustUtil.startupReportToMap());
     }
 
-    @Override
-    public void onFinishedSessionTrackingSucceeded(AdjustSessionSuccess session) {
-        sendEvent(getReactApplicationContext(), "adjust_sessionTrackingSucceeded", AdjustUtil.sessionSuccessToMap(session));
+    static AdjustAttributionVersions.Change updateAttributionVersion(AdjustAttribution attribution) {
+        return attributionVersions.update(attribution);
     }
 
-    @Override
-    public void onFinishedSessionTrackingFailed(AdjustSessionFailure session) {
-        sendEvent(getReactApplicationContext(), "adjust_sessionTrackingFailed", AdjustUtil.sessionFailureToMap(session));
+    // The version is updated once for all modules, a null change means nothing changed.
+    void onAttributionChanged(AdjustAttribution attribution, @Nullable AdjustAttributionVersions.Change change) {
+        stateCache.onAttributionChanged(attribution);
+        if (change == null || !listenerCounts.hasListeners("adjust_attribution")) {
+            return;
+        }
+
+        // Only the fields which changed, JS applies them on top of the previous version.
+        sendEvent(getReactApplicationContext(), "adjust_attribution", AdjustUtil.attributionChangeToMap(change));
     }
 
-    @Override
-    public boolean launchReceivedDeeplink(Uri uri) {
-        sendEvent(getReactApplicationContext(), "adjust_deferredDeeplink", AdjustUtil.deferredDeeplinkToMap(uri));
-        return this.shouldLaunchDeeplink;
+    void onFinishedEventTrackingSucceeded(AdjustEventSuccess event) {
+        stateCache.onAdidRead(event.adid);
+        if (!listenerCounts.hasListeners("adjust_eventTrackingSucceeded")) {
+            return;
+        }
+
+        sendEvent(getReactApplicationContext(), "adjust_eventTrackingSucceeded", AdjustUtil.eventSuccessToMap(event, jsonResponseHandler));
     }
 
-    @ReactMethod
-    public void create(ReadableMap mapConfig) {
-        if (mapConfig == null) {
+    void onFinishedEventTrackingFailed(AdjustEventFailure event) {
+        if (!listenerCounts.hasListeners("adjust_eventTrackingFailed")) {
             return;
         }
 
-        String appToken = null;
-        String environment = null;
-        String logLevel = null;
-        String sdkPrefix = null;
-        String userAgent = null;
-        String processName = null;
-        String defaultTracker = null;
-        long secretId  = 0L;
-        long info1 = 0L;
-        long info2 = 0L;
-        long info3 = 0L;
-        long info4 = 0L;
-        double delayStart = 0.0;
-        boolean isDeviceKnown = false;
-        boolean sendInBackground = false;
-        boolean isLogLevelSuppress = false;
-        boolean shouldLaunchDeeplink = false;
-        boolean eventBufferingEnabled = false;
-        boolean readMobileEquipmentIdentity = false;
+        sendEvent(getReactApplicationContext(), "adjust_eventTrackingFailed", AdjustUtil.eventFailureToMap(event, jsonResponseHandler));
+    }
 
-        // Suppress log level.
-        if (checkKey(mapConfig, "logLevel")) {
-            logLevel = mapConfig.getString("logLevel");
-            if (logLevel.equals("SUPPRESS")) {
-                isLogLevelSuppress = true;
-            }
+    void onFinishedSessionTrackingSucceeded(AdjustSessionSuccess session) {
+        stateCache.onAdidRead(session.adid);
+        if (!listenerCounts.hasListeners("adjust_sessionTrackingSucceeded")) {
+            return;
         }
 
-        // App token.
-        if (checkKey(mapConfig, "appToken")) {
-            appToken = mapConfig.getString("appToken");
+        sendEvent(getReactApplicationContext(), "adjust_sessionTrackingSucceeded", AdjustUtil.sessionSuccessToMap(session, jsonResponseHandler));
+    }
+
+    void onFinishedSessionTrackingFailed(AdjustSessionFailure session) {
+        if (!listenerCounts.hasListeners("adjust_sessionTrackingFailed")) {
+            return;
         }
 
-        // Environment.
-        if (checkKey(mapConfig, "environment")) {
-            environment = mapConfig.getString("environment");
+        sendEvent(getReactApplicationContext(), "adjust_sessionTrackingFailed", AdjustUtil.sessionFailureToMap(session, jsonResponseHandler));
+    }
+
+    boolean launchReceivedDeeplink(Uri uri) {
+        if (!listenerCounts.hasListeners("adjust_deferredDeeplink")) {
+            return this.shouldLaunchDeeplink;
         }
 
-        final AdjustConfig adjustConfig = new AdjustConfig(getReactApplicationContext(), appToken, environment, isLogLevelSuppress);
-        if (!adjustConfig.isValid()) {
-            return;
+        long timeoutMs = this.deferredDeeplinkDecisionTimeoutMs;
+        if (timeoutMs <= 0) {
+            sendEvent(getReactApplicationContext(), "adjust_deferredDeeplink", AdjustUtil.deferredDeeplinkToMap(uri));
+            return this.shouldLaunchDeeplink;
         }
 
-        // Log level.
-        if (checkKey(mapConfig, "logLevel")) {
-            logLevel = mapConfig.getString("logLevel");
-            if (logLevel.equals("VERBOSE")) {
-                adjustConfig.setLogLevel(LogLevel.VERBOSE);
-            } else if (logLevel.equals("DEBUG")) {
-                adjustConfig.setLogLevel(LogLevel.DEBUG);
-            } else if (logLevel.equals("INFO")) {
-                adjustConfig.setLogLevel(LogLevel.INFO);
-            } else if (logLevel.equals("WARN")) {
-                adjustConfig.setLogLevel(LogLevel.WARN);
-            } else if (logLevel.equals("ERROR")) {
-                adjustConfig.setLogLevel(LogLevel.ERROR);
-            } else if (logLevel.equals("ASSERT")) {
-                adjustConfig.setLogLevel(LogLevel.ASSERT);
-            } else if (logLevel.equals("SUPPRESS")) {
-                adjustConfig.setLogLevel(LogLevel.SUPRESS);
-            } else {
-                adjustConfig.setLogLevel(LogLevel.INFO);
+        // JS decides, the link is launched from here once it has or once the time is up.
+        final AdjustDeeplinkDecisions.Decision decision = deeplinkDecisions.begin(uri.toString());
+        WritableMap params = AdjustUtil.deferredDeeplinkToMap(uri);
+        params.putInt("decisionId", decision.id);
+        sendEvent(getReactApplicationContext(), "adjust_deferredDeeplink", params);
+        handler.postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                if (deeplinkDecisions.finish(decision.id) == null) {
+                    return;
+                }
+
+                metrics.recordCall("deferredDeeplinkDecisionTimeout", decision.startNanos, 0L);
+                if (shouldLaunchDeeplink) {
+                    launchDeeplink(decision.uri);
+                }
             }
-        }
+        }, timeoutMs);
+        return false;
+    }
 
-        // Event buffering.
-        if (checkKey(mapConfig, "eventBufferingEnabled")) {
-            eventBufferingEnabled = mapConfig.getBoolean("eventBufferingEnabled");
-            adjustConfig.setEventBufferingEnabled(eventBufferingEnabled);
+    @ReactMethod
+    public void resolveDeferredDeeplink(double decisionId, boolean shouldLaunch) {
+        AdjustDeeplinkDecisions.Decision decision = deeplinkDecisions.finish((int)decisionId);
+        if (decision == null) {
+            Log.w(TAG, "Deferred deep link decision came after the timeout, ignored");
+            return;
         }
 
-        // SDK prefix.
-        if (checkKey(mapConfig, "sdkPrefix")) {
-            sdkPrefix = mapConfig.getString("sdkPrefix");
-            adjustConfig.setSdkPrefix(sdkPrefix);
+        // Time from emitting the deep link to the decision, not just of this call.
+        metrics.recordCall("deferredDeeplinkDecision", decision.startNanos, 0L);
+        if (shouldLaunch) {
+            launchDeeplink(decision.uri);
         }
+    }
 
-        // Main process name.
-        if (checkKey(mapConfig, "processName")) {
-            processName = mapConfig.getString("processName");
-            adjustConfig.setProcessName(processName);
+    // Launches the deep link the same way the SDK would have.
+    private void launchDeeplink(String uri) {
+        Context context = getReactApplicationContext();
+        Intent intent = new Intent(Intent.ACTION_VIEW, Uri.parse(uri));
+        intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
+        intent.setPackage(context.getPackageName());
+        try {
+            context.startActivity(intent);
+        } catch (ActivityNotFoundException e) {
+            Log.e(TAG, "No activity to launch deferred deep link " + uri, e);
         }
+    }
 
-        // Default tracker.
-        if (checkKey(mapConfig, "defaultTracker")) {
-            defaultTracker = mapConfig.getString("defaultTracker");
-            adjustConfig.setDefaultTracker(defaultTracker);
+    @ReactMethod
+    public void create(final ReadableMap mapConfig) {
+        if (mapConfig == null) {
+            return;
         }
 
-        // User agent.
-        if (checkKey(mapConfig, "userAgent")) {
-            userAgent = mapConfig.getString("userAgent");
-            adjustConfig.setUserAgent(userAgent);
+        AdjustStartupTimings.mark(AdjustStartupTimings.CREATE_CALLED);
+
+        // Ingestion queue options have to be applied before anything else is enqueued.
+        int queueCapacity = 0;
+        String queueOverflowPolicy = null;
+        if (checkKey(mapConfig, "ingestionQueueCapacity")) {
+            queueCapacity = mapConfig.getInt("ingestionQueueCapacity");
+        }
+        if (checkKey(mapConfig, "ingestionQueueOverflowPolicy")) {
+            queueOverflowPolicy = mapConfig.getString("ingestionQueueOverflowPolicy");
         }
+        commandQueue.configure(queueCapacity, AdjustCommandQueue.OverflowPolicy.fromString(queueOverflowPolicy));
 
-        // App secret.
-        if (checkKey(mapConfig, "secretId")
-                && checkKey(mapConfig, "info1")
-                && checkKey(mapConfig, "info2")
-                && checkKey(mapConfig, "info3")
-                && checkKey(mapConfig, "info4")) {
-            try {
-                secretId = Long.parseLong(mapConfig.getString("secretId"), 10);
-                info1 = Long.parseLong(mapConfig.getString("info1"), 10);
-                info2 = Long.parseLong(mapConfig.getString("info2"), 10);
-                info3 = Long.parseLong(mapConfig.getString("info3"), 10);
-                info4 = Long.parseLong(mapConfig.getString("info4"), 10);
-                adjustConfig.setAppSecret(secretId, info1, info2, info3, info4);
-            } catch (NumberFormatException ignore) {}
+        enqueue("create", mapConfig, new Runnable() {
+            @Override
+            public void run() {
+                createSdk(mapConfig);
+            }
+        });
+    }
+
+    private void createSdk(ReadableMap mapConfig) {
+        final Map<String, Object> config = mapConfig.toHashMap();
+
+        // The SDK outlives JS reloads and may also have been started natively.
+        // Only bind this module to it instead of initialising it again.
+        final Map<String, Object> startConfig = AdjustInitializer.getStartConfig();
+        if (startConfig != null) {
+            if (!startConfig.equals(config)) {
+                warnAboutIgnoredConfigChanges(startConfig, config);
+            }
+            applyBridgeConfig(mapConfig);
+            AdjustInitializer.attach(this);
+            stateCache.refresh();
+            attributionVersions.update(stateCache.getAttribution());
+            eventTracker.replayJournal();
+            return;
         }
 
-        // Background tracking.
-        if (checkKey(mapConfig, "sendInBackground")) {
-            sendInBackground = mapConfig.getBoolean("sendInBackground");
-            adjustConfig.setSendInBackground(sendInBackground);
+        AdjustStartupTimings.mark(AdjustStartupTimings.CONFIG_PARSE_STARTED);
+        final AdjustConfig adjustConfig = AdjustUtil.toAdjustConfig(getReactApplicationContext(), mapConfig);
+        if (adjustConfig == null) {
+            return;
         }
 
-        // Set device known.
-        if (checkKey(mapConfig, "isDeviceKnown")) {
-            isDeviceKnown = mapConfig.getBoolean("isDeviceKnown");
-            adjustConfig.setDeviceKnown(isDeviceKnown);
+        applyBridgeConfig(mapConfig);
+        AdjustStartupTimings.mark(AdjustStartupTimings.CONFIG_PARSED);
+
+        // Callbacks.
+        // Emission to JS is subject to listener counts.
+        AdjustInitializer.setListeners(adjustConfig);
+        AdjustInitializer.attach(this);
+
+        AdjustStartupTimings.mark(AdjustStartupTimings.SDK_CREATE_STARTED);
+        sdk.onCreate(adjustConfig);
+        AdjustStartupTimings.mark(AdjustStartupTimings.SDK_CREATED);
+        sdk.onResume();
+        AdjustInitializer.onStarted(config);
+        stateCache.refresh();
+        attributionVersions.update(stateCache.getAttribution());
+        eventTracker.replayJournal();
+    }
+
+    private void warnAboutIgnoredConfigChanges(Map<String, Object> startConfig, Map<String, Object> config) {
+        for (String key : AdjustCore.changedKeys(startConfig, config)) {
+            if (BRIDGE_CONFIG_KEYS.contains(key)) {
+                continue;
+            }
+            Log.w(TAG, "Adjust SDK is already running, change of " + key + " takes effect after app restart");
         }
+    }
 
-        // Deprecated.
-        // Set read mobile equipment ID.
-        // if (checkKey(mapConfig, "readMobileEquipmentIdentity")) {
-        //     readMobileEquipmentIdentity = mapConfig.getBoolean("readMobileEquipmentIdentity");
-        //     adjustConfig.setReadMobileEquipmentIdentity(readMobileEquipmentIdentity);
-        // }
+    private void applyBridgeConfig(ReadableMap mapConfig) {
+        String jsonResponseMode = null;
+        String callbackDeliveryMode = null;
+        int jsonResponseMaxLength = 0;
+        double callbackBatchInterval = 0.0;
+        boolean shouldLaunchDeeplink = false;
 
         // Launching deferred deep link.
         if (checkKey(mapConfig, "shouldLaunchDeeplink")) {
@@ -236,280 +380,530 @@ public class AdjustModule extends ReactContextBaseJavaModule implements Lifecycl
             this.shouldLaunchDeeplink = shouldLaunchDeeplink;
         }
 
-        // Delayed start.
-        if (checkKey(mapConfig, "delayStart")) {
-            delayStart = mapConfig.getDouble("delayStart");
-            adjustConfig.setDelayStart(delayStart);
-        }
-
-        // Attribution callback.
-        if (attributionCallback) {
-            adjustConfig.setOnAttributionChangedListener(this);
-        }
-
-        // Event tracking succeeded callback.
-        if (eventTrackingSucceededCallback) {
-            adjustConfig.setOnEventTrackingSucceededListener(this);
+        // JSON response delivery in tracking callbacks.
+        if (checkKey(mapConfig, "jsonResponseMode")) {
+            jsonResponseMode = mapConfig.getString("jsonResponseMode");
+            if (checkKey(mapConfig, "jsonResponseMaxLength")) {
+                jsonResponseMaxLength = mapConfig.getInt("jsonResponseMaxLength");
+            }
+            jsonResponseHandler.configure(AdjustJsonResponseHandler.Mode.fromString(jsonResponseMode), jsonResponseMaxLength);
         }
 
-        // Event tracking failed callback.
-        if (eventTrackingFailedCallback) {
-            adjustConfig.setOnEventTrackingFailedListener(this);
+        // Callback delivery.
+        if (checkKey(mapConfig, "callbackDeliveryMode")) {
+            callbackDeliveryMode = mapConfig.getString("callbackDeliveryMode");
+            if (checkKey(mapConfig, "callbackBatchInterval")) {
+                callbackBatchInterval = mapConfig.getDouble("callbackBatchInterval");
+            }
+            callbackBatcher.configure(callbackDeliveryMode.equals("batched"), (long)callbackBatchInterval);
         }
 
-        // Session tracking succeeded callback.
-        if (sessionTrackingSucceededCallback) {
-            adjustConfig.setOnSessionTrackingSucceededListener(this);
+        // Rate limit of events per event token.
+        if (checkKey(mapConfig, "eventRateLimitPerMinute")) {
+            double eventRateLimitPerMinute = mapConfig.getDouble("eventRateLimitPerMinute");
+            int eventRateLimitBurst = 1;
+            String eventRateLimitPolicy = null;
+            if (checkKey(mapConfig, "eventRateLimitBurst")) {
+                eventRateLimitBurst = mapConfig.getInt("eventRateLimitBurst");
+            }
+            if (checkKey(mapConfig, "eventRateLimitPolicy")) {
+                eventRateLimitPolicy = mapConfig.getString("eventRateLimitPolicy");
+            }
+            eventRateLimiter.configure(eventRateLimitPerMinute, eventRateLimitBurst, AdjustEventRateLimiter.Policy.fromString(eventRateLimitPolicy));
         }
 
-        // Session tracking failed callback.
-        if (sessionTrackingFailedCallback) {
-            adjustConfig.setOnSessionTrackingFailedListener(this);
+        // Deciding about deferred deep links from JS.
+        if (checkKey(mapConfig, "deferredDeeplinkDecisionTimeout")) {
+            deferredDeeplinkDecisionTimeoutMs = (long)mapConfig.getDouble("deferredDeeplinkDecisionTimeout");
         }
 
-        // Deferred deeplink callback.
-        if (deferredDeeplinkCallback) {
-            adjustConfig.setOnDeeplinkResponseListener(this);
+        // Ad revenue aggregation.
+        if (checkKey(mapConfig, "adRevenueAggregationInterval") || checkKey(mapConfig, "adRevenueAggregationMaxCount")) {
+            double adRevenueAggregationInterval = 0.0;
+            int adRevenueAggregationMaxCount = 0;
+            if (checkKey(mapConfig, "adRevenueAggregationInterval")) {
+                adRevenueAggregationInterval = mapConfig.getDouble("adRevenueAggregationInterval");
+            }
+            if (checkKey(mapConfig, "adRevenueAggregationMaxCount")) {
+                adRevenueAggregationMaxCount = mapConfig.getInt("adRevenueAggregationMaxCount");
+            }
+            adRevenueAggregator.configure((long)adRevenueAggregationInterval, adRevenueAggregationMaxCount);
         }
-
-        Adjust.onCreate(adjustConfig);
-        Adjust.onResume();
     }
 
     @ReactMethod
-    public void trackEvent(ReadableMap mapEvent) {
-        if (mapEvent == null) {
-            return;
-        }
-
-        double revenue = -1.0;
-        String eventToken = null;
-        String currency = null;
-        String transactionId = null;
-        String callbackId = null;
-        Map<String, Object> callbackParameters = null;
-        Map<String, Object> partnerParameters = null;
+    public void trackEvent(final ReadableMap mapEvent) {
+        enqueueTracking("trackEvent", 0L, mapEvent, null, new Runnable() {
+            @Override
+            public void run() {
+                trackEventOnQueue(mapEvent, true);
+            }
+        });
+    }
 
-        // Event token.
-        if (checkKey(mapEvent, "eventToken")) {
-            eventToken = mapEvent.getString("eventToken");
-        }
+    @ReactMethod
+    public void trackEvents(final ReadableArray arrayEvents) {
+        enqueueTracking("trackEvents", 0L, null, arrayEvents, new Runnable() {
+            @Override
+            public void run() {
+                if (arrayEvents == null) {
+                    return;
+                }
 
-        final AdjustEvent event = new AdjustEvent(eventToken);
-        if (!event.isValid()) {
-            return;
-        }
+                // Events are built and tracked in the order in which they were passed.
+                // Invalid entries are skipped the same way trackEvent skips them.
+                for (int i = 0; i < arrayEvents.size(); i++) {
+                    if (arrayEvents.getType(i) != ReadableType.Map) {
+                        continue;
+                    }
 
-        // Revenue.
-        if (checkKey(mapEvent, "revenue") || checkKey(mapEvent, "currency")) {
-            try {
-                revenue = Double.parseDouble(mapEvent.getString("revenue"));
-            } catch (NumberFormatException ignore) {}
-            currency = mapEvent.getString("currency");
-            event.setRevenue(revenue, currency);
-        }
-
-        // Callback parameters.
-        if (checkKey(mapEvent, "callbackParameters")) {
-            callbackParameters = AdjustUtil.toMap(mapEvent.getMap("callbackParameters"));
-            if (null != callbackParameters) {
-                for (Map.Entry<String, Object> entry : callbackParameters.entrySet()) {
-                    event.addCallbackParameter(entry.getKey(), entry.getValue().toString());
+                    trackEventOnQueue(arrayEvents.getMap(i), true);
                 }
             }
-        }
+        });
+    }
 
-        // Partner parameters.
-        if (checkKey(mapEvent, "partnerParameters")) {
-            partnerParameters = AdjustUtil.toMap(mapEvent.getMap("partnerParameters"));
-            if (null != partnerParameters) {
-                for (Map.Entry<String, Object> entry : partnerParameters.entrySet()) {
-                    event.addPartnerParameter(entry.getKey(), entry.getValue().toString());
-                }
+    @ReactMethod
+    public void setEnabled(final boolean enabled) {
+        enqueue("setEnabled", 0L, new Runnable() {
+            @Override
+            public void run() {
+                sdk.setEnabled(enabled);
+                stateCache.onEnabledSet(enabled);
             }
-        }
+        });
+    }
 
-        // Revenue deduplication.
-        if (checkKey(mapEvent, "transactionId")) {
-            transactionId = mapEvent.getString("transactionId");
-            if (null != transactionId) {
-                event.setOrderId(transactionId);
+    @ReactMethod
+    public void isEnabled(final Callback callback) {
+        enqueue("isEnabled", 0L, new Runnable() {
+            @Override
+            public void run() {
+                callback.invoke(Adjust.isEnabled());
             }
-        }
+        });
+    }
 
-        // Callback ID.
-        if (checkKey(mapEvent, "callbackId")) {
-            callbackId = mapEvent.getString("callbackId");
-            if (null != callbackId) {
-                event.setCallbackId(callbackId);
+    @ReactMethod
+    public void setReferrer(final String referrer) {
+        enqueue("setReferrer", AdjustUtil.estimatePayloadSize(referrer), new Runnable() {
+            @Override
+            public void run() {
+                Adjust.setReferrer(referrer, getReactApplicationContext());
             }
-        }
+        });
+    }
 
-        Adjust.trackEvent(event);
+    @ReactMethod
+    public void setOfflineMode(final boolean enabled) {
+        enqueue("setOfflineMode", 0L, new Runnable() {
+            @Override
+            public void run() {
+                sdk.setOfflineMode(enabled);
+            }
+        });
     }
 
     @ReactMethod
-    public void setEnabled(Boolean enabled) {
-        Adjust.setEnabled(enabled);
+    public void setPushToken(final String token) {
+        enqueue("setPushToken", AdjustUtil.estimatePayloadSize(token), new Runnable() {
+            @Override
+            public void run() {
+                Adjust.setPushToken(token, getReactApplicationContext());
+            }
+        });
     }
 
     @ReactMethod
-    public void isEnabled(Callback callback) {
-        callback.invoke(Adjust.isEnabled());
+    public void appWillOpenUrl(final String strUri) {
+        enqueue("appWillOpenUrl", AdjustUtil.estimatePayloadSize(strUri), new Runnable() {
+            @Override
+            public void run() {
+                // The host Activity may have passed the link on already, see AdjustDeeplinks.
+                if (AdjustDeeplinks.consume(strUri)) {
+                    return;
+                }
+
+                final Uri uri = Uri.parse(strUri);
+                Adjust.appWillOpenUrl(uri, getReactApplicationContext());
+            }
+        });
     }
 
     @ReactMethod
-    public void setReferrer(String referrer) {
-        Adjust.setReferrer(referrer, getReactApplicationContext());
+    public void sendFirstPackages() {
+        enqueue("sendFirstPackages", 0L, new Runnable() {
+            @Override
+            public void run() {
+                sdk.sendFirstPackages();
+            }
+        });
     }
 
     @ReactMethod
-    public void setOfflineMode(Boolean enabled) {
-        Adjust.setOfflineMode(enabled);
+    public void trackAdRevenue(final String source, final ReadableMap payload) {
+        enqueueTracking("trackAdRevenue", AdjustUtil.estimatePayloadSize(source), payload, null, new Runnable() {
+            @Override
+            public void run() {
+                if (source == null || payload == null) {
+                    return;
+                }
+
+                // The payload map is converted straight into the JSONObject the SDK expects.
+                try {
+                    JSONObject jsonPayload = AdjustUtil.toJsonObject(payload);
+                    if (adRevenueAggregator.isEnabled()) {
+                        adRevenueAggregator.add(source, jsonPayload);
+                    } else {
+                        sdk.trackAdRevenue(source, jsonPayload);
+                    }
+                } catch (JSONException e) {
+                    Log.e(TAG, "Can't convert ad revenue payload", e);
+                }
+            }
+        });
     }
 
     @ReactMethod
-    public void setPushToken(String token) {
-        Adjust.setPushToken(token, getReactApplicationContext());
+    public void getAdRevenueAggregationStats(final Callback callback) {
+        long start = System.nanoTime();
+        callback.invoke(AdjustUtil.adRevenueAggregatorToMap(adRevenueAggregator));
+        metrics.recordCall("getAdRevenueAggregationStats", start, 0L);
     }
 
     @ReactMethod
-    public void appWillOpenUrl(String strUri) {
-        final Uri uri = Uri.parse(strUri);
-        Adjust.appWillOpenUrl(uri, getReactApplicationContext());
+    public void addSessionCallbackParameter(final String key, final String value) {
+        enqueue("addSessionCallbackParameter", AdjustUtil.estimatePayloadSize(key) + AdjustUtil.estimatePayloadSize(value), new Runnable() {
+            @Override
+            public void run() {
+                sessionCallbackParameters.add(key, value);
+            }
+        });
     }
 
     @ReactMethod
-    public void sendFirstPackages() {
-        Adjust.sendFirstPackages();
+    public void addSessionPartnerParameter(final String key, final String value) {
+        enqueue("addSessionPartnerParameter", AdjustUtil.estimatePayloadSize(key) + AdjustUtil.estimatePayloadSize(value), new Runnable() {
+            @Override
+            public void run() {
+                sessionPartnerParameters.add(key, value);
+            }
+        });
     }
 
     @ReactMethod
-    public void addSessionCallbackParameter(String key, String value) {
-        Adjust.addSessionCallbackParameter(key, value);
+    public void removeSessionCallbackParameter(final String key) {
+        enqueue("removeSessionCallbackParameter", AdjustUtil.estimatePayloadSize(key), new Runnable() {
+            @Override
+            public void run() {
+                sessionCallbackParameters.remove(key);
+            }
+        });
     }
 
     @ReactMethod
-    public void addSessionPartnerParameter(String key, String value) {
-        Adjust.addSessionPartnerParameter(key, value);
+    public void removeSessionPartnerParameter(final String key) {
+        enqueue("removeSessionPartnerParameter", AdjustUtil.estimatePayloadSize(key), new Runnable() {
+            @Override
+            public void run() {
+                sessionPartnerParameters.remove(key);
+            }
+        });
     }
 
     @ReactMethod
-    public void removeSessionCallbackParameter(String key) {
-        Adjust.removeSessionCallbackParameter(key);
+    public void resetSessionCallbackParameters() {
+        enqueue("resetSessionCallbackParameters", 0L, new Runnable() {
+            @Override
+            public void run() {
+                sessionCallbackParameters.reset();
+            }
+        });
     }
 
     @ReactMethod
-    public void removeSessionPartnerParameter(String key) {
-        Adjust.removeSessionPartnerParameter(key);
+    public void resetSessionPartnerParameters() {
+        enqueue("resetSessionPartnerParameters", 0L, new Runnable() {
+            @Override
+            public void run() {
+                sessionPartnerParameters.reset();
+            }
+        });
     }
 
     @ReactMethod
-    public void resetSessionCallbackParameters() {
-        Adjust.resetSessionCallbackParameters();
+    public void setSessionCallbackParameters(final ReadableMap mapParameters) {
+        enqueue("setSessionCallbackParameters", mapParameters, new Runnable() {
+            @Override
+            public void run() {
+                sessionCallbackParameters.set(AdjustUtil.toStringMap(mapParameters));
+            }
+        });
     }
 
     @ReactMethod
-    public void resetSessionPartnerParameters() {
-        Adjust.resetSessionPartnerParameters();
+    public void setSessionPartnerParameters(final ReadableMap mapParameters) {
+        enqueue("setSessionPartnerParameters", mapParameters, new Runnable() {
+            @Override
+            public void run() {
+                sessionPartnerParameters.set(AdjustUtil.toStringMap(mapParameters));
+            }
+        });
     }
 
     @ReactMethod
     public void gdprForgetMe() {
-        Adjust.gdprForgetMe(getReactApplicationContext());
+        enqueue("gdprForgetMe", 0L, new Runnable() {
+            @Override
+            public void run() {
+                Adjust.gdprForgetMe(getReactApplicationContext());
+                stateCache.onForgotten();
+                eventTracker.forget();
+                sessionCallbackParameters.forget();
+                sessionPartnerParameters.forget();
+            }
+        });
     }
 
     @ReactMethod
     public void getIdfa(Callback callback) {
+        long start = System.nanoTime();
         callback.invoke("");
+        metrics.recordCall("getIdfa", start, 0L);
     }
 
     @ReactMethod
     public void getGoogleAdId(final Callback callback) {
+        long start = System.nanoTime();
         Adjust.getGoogleAdId(getReactApplicationContext(), new com.adjust.sdk.OnDeviceIdsRead() {
             @Override
             public void onGoogleAdIdRead(String googleAdId) {
                 callback.invoke(googleAdId);
             }
         });
+        metrics.recordCall("getGoogleAdId", start, 0L);
     }
 
     @ReactMethod
-    public void getAdid(Callback callback) {
-        callback.invoke(Adjust.getAdid());
+    public void getAdid(final Callback callback) {
+        enqueue("getAdid", 0L, new Runnable() {
+            @Override
+            public void run() {
+                callback.invoke(Adjust.getAdid());
+            }
+        });
     }
 
     @ReactMethod
     public void getAmazonAdId(Callback callback) {
+        long start = System.nanoTime();
         callback.invoke(Adjust.getAmazonAdId(getReactApplicationContext()));
+        metrics.recordCall("getAmazonAdId", start, 0L);
     }
 
     @ReactMethod
-    public void getAttribution(Callback callback) {
-        callback.invoke(AdjustUtil.attributionToMap(Adjust.getAttribution()));
+    public void getAttribution(final Callback callback) {
+        enqueue("getAttribution", 0L, new Runnable() {
+            @Override
+            public void run() {
+                callback.invoke(AdjustUtil.attributionToMap(Adjust.getAttribution()));
+            }
+        });
     }
 
     @ReactMethod
-    public void getSdkVersion(String sdkPrefix, Callback callback) {
-        String sdkVersion = Adjust.getSdkVersion();
-        if (sdkVersion == null) {
-            callback.invoke("");
-        } else {
-            callback.invoke(sdkPrefix + "@" + sdkVersion);
-        }
+    public void getSdkVersion(final String sdkPrefix, final Callback callback) {
+        enqueue("getSdkVersion", 0L, new Runnable() {
+            @Override
+            public void run() {
+                callback.invoke(AdjustCore.sdkVersionToString(sdkPrefix, Adjust.getSdkVersion()));
+            }
+        });
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public String getAdidSync() {
+        long start = System.nanoTime();
+        String adid = stateCache.getAdid();
+        metrics.recordCall("getAdidSync", start, 0L);
+        return adid;
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public WritableMap getAttributionSync() {
+        long start = System.nanoTime();
+        WritableMap attribution = AdjustUtil.attributionToMap(stateCache.getAttribution());
+        metrics.recordCall("getAttributionSync", start, 0L);
+        return attribution;
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public boolean isEnabledSync() {
+        long start = System.nanoTime();
+        boolean isEnabled = stateCache.isEnabled();
+        metrics.recordCall("isEnabledSync", start, 0L);
+        return isEnabled;
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public String getSdkVersionSync(String sdkPrefix) {
+        long start = System.nanoTime();
+        String sdkVersion = AdjustCore.sdkVersionToString(sdkPrefix, stateCache.getSdkVersion());
+        metrics.recordCall("getSdkVersionSync", start, 0L);
+        return sdkVersion;
+    }
+
+    @ReactMethod
+    public void getAdidAsync(Promise promise) {
+        long start = System.nanoTime();
+        promise.resolve(stateCache.getAdid());
+        metrics.recordCall("getAdidAsync", start, 0L);
+    }
+
+    @ReactMethod
+    public void getAttributionIfChanged(final double version, final Callback callback) {
+        enqueue("getAttributionIfChanged", 0L, new Runnable() {
+            @Override
+            public void run() {
+                if (attributionVersions.getVersion() == 0L) {
+                    attributionVersions.update(stateCache.getAttribution());
+                }
+                callback.invoke(AdjustUtil.attributionSnapshotToMap(attributionVersions.getIfNewer((long)version), attributionVersions.getVersion()));
+            }
+        });
+    }
+
+    @ReactMethod
+    public void getAttributionAsync(Promise promise) {
+        long start = System.nanoTime();
+        promise.resolve(AdjustUtil.attributionToMap(stateCache.getAttribution()));
+        metrics.recordCall("getAttributionAsync", start, 0L);
+    }
+
+    @ReactMethod
+    public void isEnabledAsync(Promise promise) {
+        long start = System.nanoTime();
+        promise.resolve(stateCache.isEnabled());
+        metrics.recordCall("isEnabledAsync", start, 0L);
+    }
+
+    @ReactMethod
+    public void getSdkVersionAsync(String sdkPrefix, Promise promise) {
+        long start = System.nanoTime();
+        promise.resolve(AdjustCore.sdkVersionToString(sdkPrefix, stateCache.getSdkVersion()));
+        metrics.recordCall("getSdkVersionAsync", start, 0L);
+    }
+
+    @ReactMethod
+    public void getStartupReport(Callback callback) {
+        long start = System.nanoTime();
+        callback.invoke(AdjustUtil.startupReportToMap());
+        metrics.recordCall("getStartupReport", start, 0L);
+    }
+
+    @ReactMethod
+    public void getJsonResponse(String handle, Callback callback) {
+        long start = System.nanoTime();
+        String jsonResponse = jsonResponseHandler.getJsonResponse(handle);
+        callback.invoke(null != jsonResponse ? jsonResponse : "");
+        metrics.recordCall("getJsonResponse", start, AdjustUtil.estimatePayloadSize(handle));
     }
 
     @ReactMethod
     public void convertUniversalLink(final String url, final String scheme, final Callback callback) {
+        long start = System.nanoTime();
         callback.invoke("");
+        metrics.recordCall("convertUniversalLink", start, AdjustUtil.estimatePayloadSize(url));
+    }
+
+    @ReactMethod
+    public void getIngestionQueueStats(final Callback callback) {
+        long start = System.nanoTime();
+        callback.invoke(AdjustUtil.commandQueueToMap(commandQueue));
+        metrics.recordCall("getIngestionQueueStats", start, 0L);
     }
 
     @ReactMethod
-    public void setAttributionCallbackListener() {
-        this.attributionCallback = true;
+    public void getTransactionDeduplicationStats(final Callback callback) {
+        enqueue("getTransactionDeduplicationStats", 0L, new Runnable() {
+            @Override
+            public void run() {
+                callback.invoke(AdjustUtil.transactionIdCacheToMap(getTransactionIdCache(getReactApplicationContext())));
+            }
+        });
     }
 
     @ReactMethod
-    public void setEventTrackingSucceededCallbackListener() {
-        this.eventTrackingSucceededCallback = true;
+    public void getEventRateLimitStats(final Callback callback) {
+        long start = System.nanoTime();
+        callback.invoke(AdjustUtil.eventRateLimiterToMap(eventRateLimiter));
+        metrics.recordCall("getEventRateLimitStats", start, 0L);
     }
 
     @ReactMethod
-    public void setEventTrackingFailedCallbackListener() {
-        this.eventTrackingFailedCallback = true;
+    public void addListener(String eventName) {
+        long start = System.nanoTime();
+        listenerCounts.increment(eventName);
+        metrics.recordCall("addListener", start, AdjustUtil.estimatePayloadSize(eventName));
     }
 
     @ReactMethod
-    public void setSessionTrackingSucceededCallbackListener() {
-        this.sessionTrackingSucceededCallback = true;
+    public void removeListener(String eventName) {
+        long start = System.nanoTime();
+        listenerCounts.decrement(eventName);
+        metrics.recordCall("removeListener", start, AdjustUtil.estimatePayloadSize(eventName));
     }
 
     @ReactMethod
-    public void setSessionTrackingFailedCallbackListener() {
-        this.sessionTrackingFailedCallback = true;
+    public void removeListeners(double count) {
+        // Part of the NativeEventEmitter contract, used by emitters created on this module.
+        // Removals reported here don't name the event, see AdjustListenerCounts.
+        // The JS API reports its removals through removeListener.
+        long start = System.nanoTime();
+        listenerCounts.decrementLatest((int)count);
+        metrics.recordCall("removeListeners", start, 0L);
     }
 
     @ReactMethod
-    public void setDeferredDeeplinkCallbackListener() {
-        this.deferredDeeplinkCallback = true;
+    public void getListenerCounts(Callback callback) {
+        long start = System.nanoTime();
+        callback.invoke(AdjustUtil.listenerCountsToMap(listenerCounts));
+        metrics.recordCall("getListenerCounts", start, 0L);
+    }
+
+    // Sampling the metrics isn't recorded itself.
+    @ReactMethod
+    public void getMetrics(Callback callback) {
+        callback.invoke(AdjustUtil.metricsToMap(metrics));
+    }
+
+    @ReactMethod
+    public void resetMetrics() {
+        metrics.reset();
     }
 
     @ReactMethod
     public void teardown() {
-        this.attributionCallback = false;
-        this.eventTrackingSucceededCallback = false;
-        this.eventTrackingFailedCallback = false;
-        this.sessionTrackingSucceededCallback = false;
-        this.sessionTrackingFailedCallback = false;
-        this.deferredDeeplinkCallback = false;
+        long start = System.nanoTime();
+        // Callbacks follow the JS listeners, which Adjust.teardown has removed already.
+        metrics.recordCall("teardown", start, 0L);
     }
 
     @ReactMethod
-    public void setTestOptions(ReadableMap mapTest) {
+    public void setTestOptions(final ReadableMap mapTest) {
         if (mapTest == null) {
             return;
         }
 
+        enqueue("setTestOptions", mapTest, new Runnable() {
+            @Override
+            public void run() {
+                applyTestOptions(mapTest);
+            }
+        });
+    }
+
+    private void applyTestOptions(ReadableMap mapTest) {
         final AdjustTestOptions testOptions = new AdjustTestOptions();
         if (checkKey(mapTest, "hasContext")) {
             boolean value = mapTest.getBoolean("hasContext");
@@ -582,20 +976,229 @@ public class AdjustModule extends ReactContextBaseJavaModule implements Lifecycl
             testOptions.teardown = value;
         }
 
+        if (Boolean.TRUE.equals(testOptions.teardown)) {
+            AdjustInitializer.reset();
+            AdjustStartupTimings.reset();
+            eventTracker.forget();
+            sessionCallbackParameters.forget();
+            sessionPartnerParameters.forget();
+        }
+
         Adjust.setTestOptions(testOptions);
     }
 
     @ReactMethod
     public void onResume() {
-        Adjust.onResume();
+        enqueue("onResume", 0L, new Runnable() {
+            @Override
+            public void run() {
+                sdk.onResume();
+            }
+        });
     }
 
     @ReactMethod
     public void onPause() {
-        Adjust.onPause();
+        enqueue("onPause", 0L, new Runnable() {
+            @Override
+            public void run() {
+                sdk.onPause();
+            }
+        });
+    }
+
+    private static boolean isSdkStarted() {
+        return AdjustInitializer.getStartConfig() != null;
+    }
+
+    private static synchronized AdjustEventJournal getEventJournal(Context context) {
+        if (eventJournal == null) {
+            File file = new File(context.getFilesDir(), EVENT_JOURNAL_FILE_NAME);
+            eventJournal = new AdjustEventJournal(file, AdjustEventJournal.DEFAULT_MAX_SIZE);
+        }
+        return eventJournal;
+    }
+
+    private static synchronized AdjustTransactionIdCache getTransactionIdCache(Context context) {
+        if (transactionIdCache == null) {
+            File file = new File(context.getFilesDir(), TRANSACTION_ID_CACHE_FILE_NAME);
+            transactionIdCache = new AdjustTransactionIdCache(file, AdjustTransactionIdCache.DEFAULT_CAPACITY);
+        }
+        return transactionIdCache;
+    }
+
+    private void trackEventOnQueue(final ReadableMap mapEvent, boolean isRateLimited) {
+        long delayNanos = eventTracker.track(new ReadableMapReader(mapEvent), isRateLimited, isSdkStarted());
+        if (delayNanos == AdjustEventTracker.DONE) {
+            return;
+        }
+
+        DeferredEvent deferredEvent = new DeferredEvent(mapEvent);
+        synchronized (deferredEvents) {
+            if (!isShutdown) {
+                deferredEvents.add(deferredEvent);
+                handler.postDelayed(deferredEvent, TimeUnit.NANOSECONDS.toMillis(delayNanos) + 1);
+                return;
+            }
+        }
+
+        // Deferred while the queue is being drained, nothing would track it any more.
+        eventTracker.journalDeferred(new ReadableMapReader(mapEvent));
+    }
+
+    // Deferred events would be lost together with the handler callbacks, they are tracked
+    // on the next start instead, after the commands which are still queued.
+    private void journalDeferredEvents() {
+        final List<DeferredEvent> events;
+        synchronized (deferredEvents) {
+            isShutdown = true;
+            events = new ArrayList<DeferredEvent>(deferredEvents);
+            deferredEvents.clear();
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        for (DeferredEvent event : events) {
+            handler.removeCallbacks(event);
+        }
+        enqueue("journalDeferredEvents", 0L, new Runnable() {
+            @Override
+            public void run() {
+                for (DeferredEvent event : events) {
+                    eventTracker.journalDeferred(new ReadableMapReader(event.mapEvent));
+                }
+            }
+        });
+    }
+
+    private class DeferredEvent implements Runnable {
+        final ReadableMap mapEvent;
+
+        DeferredEvent(ReadableMap mapEvent) {
+            this.mapEvent = mapEvent;
+        }
+
+        @Override
+        public void run() {
+            // Taken over by journalDeferredEvents in the meantime.
+            synchronized (deferredEvents) {
+                if (!deferredEvents.remove(this)) {
+                    return;
+                }
+            }
+
+            enqueueTracking("trackEvent", 0L, mapEvent, null, new Runnable() {
+                @Override
+                public void run() {
+                    trackEventOnQueue(mapEvent, false);
+                }
+            });
+        }
+    }
+
+    // Submits the ad revenue aggregated so far, after the records which are still queued.
+    private void flushAdRevenue() {
+        if (!adRevenueAggregator.isEnabled()) {
+            return;
+        }
+
+        enqueue("flushAdRevenue", 0L, new Runnable() {
+            @Override
+            public void run() {
+                adRevenueAggregator.flush();
+            }
+        });
     }
 
     private void sendEvent(ReactContext reactContext, String eventName, @Nullable WritableMap params) {
+        // The map is consumed once it is handed off, so it has to be measured before.
+        long payloadSize = AdjustUtil.estimatePayloadSize(params);
+        long start = System.nanoTime();
+        if (callbackBatcher.isEnabled()) {
+            callbackBatcher.add(eventName, params);
+        } else {
+            emitEvent(reactContext, eventName, params);
+        }
+        metrics.recordEmission(eventName, start, payloadSize);
+    }
+
+    // Runs the command on the command queue and records its execution time under the method name.
+    private void enqueue(String method, long payloadSize, Runnable command) {
+        commandQueue.enqueue(new MeasuredCommand(method, payloadSize, null, null, command));
+    }
+
+    private void enqueue(String method, ReadableMap payload, Runnable command) {
+        commandQueue.enqueue(new MeasuredCommand(method, 0L, payload, null, command));
+    }
+
+    private void enqueue(String method, ReadableArray payload, Runnable command) {
+        commandQueue.enqueue(new MeasuredCommand(method, 0L, null, payload, command));
+    }
+
+    // Tracking may be dropped when the queue is full, nothing else is, see AdjustCommandQueue.
+    private void enqueueTracking(String method,
+                                 long payloadSize,
+                                 @Nullable ReadableMap mapPayload,
+                                 @Nullable ReadableArray arrayPayload,
+                                 Runnable command) {
+        commandQueue.enqueue(new DroppableMeasuredCommand(method, payloadSize, mapPayload, arrayPayload, command));
+    }
+
+    private class MeasuredCommand implements Runnable {
+        final String method;
+        private final long payloadSize;
+        @Nullable private final ReadableMap mapPayload;
+        @Nullable private final ReadableArray arrayPayload;
+        private final Runnable command;
+
+        MeasuredCommand(String method,
+                        long payloadSize,
+                        @Nullable ReadableMap mapPayload,
+                        @Nullable ReadableArray arrayPayload,
+                        Runnable command) {
+            this.method = method;
+            this.payloadSize = payloadSize;
+            this.mapPayload = mapPayload;
+            this.arrayPayload = arrayPayload;
+            this.command = command;
+        }
+
+        // Map and array payloads are measured on the worker thread, so the bridge thread never walks them.
+        @Override
+        public void run() {
+            long size = payloadSize;
+            if (mapPayload != null) {
+                size += AdjustUtil.estimatePayloadSize(mapPayload);
+            }
+            if (arrayPayload != null) {
+                size += AdjustUtil.estimatePayloadSize(arrayPayload);
+            }
+            long start = System.nanoTime();
+            try {
+                command.run();
+            } finally {
+                metrics.recordCall(method, start, size);
+            }
+        }
+    }
+
+    private class DroppableMeasuredCommand extends MeasuredCommand implements AdjustCommandQueue.DroppableCommand {
+        DroppableMeasuredCommand(String method,
+                                 long payloadSize,
+                                 @Nullable ReadableMap mapPayload,
+                                 @Nullable ReadableArray arrayPayload,
+                                 Runnable command) {
+            super(method, payloadSize, mapPayload, arrayPayload, command);
+        }
+
+        @Override
+        public void onDropped() {
+            Log.w(TAG, method + " dropped, the ingestion queue is full or shut down");
+        }
+    }
+
+    private void emitEvent(ReactContext reactContext, String eventName, @Nullable WritableMap params) {
         reactContext
             .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
             .emit(eventName, params);
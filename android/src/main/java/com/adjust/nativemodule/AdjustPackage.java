@@ -8,27 +8,50 @@
 
 package com.adjust.nativemodule;
 
-import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.ArrayList;
-import com.facebook.react.ReactPackage;
-import com.facebook.react.bridge.JavaScriptModule;
+import java.util.Map;
+import javax.annotation.Nullable;
+import com.facebook.react.TurboReactPackage;
 import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.module.model.ReactModuleInfo;
+import com.facebook.react.module.model.ReactModuleInfoProvider;
 import com.facebook.react.uimanager.ViewManager;
 
-public class AdjustPackage implements ReactPackage {
+// The module isn't needed before JS calls into Adjust for the first time,
+// so it's created on first access instead of during React context startup.
+public class AdjustPackage extends TurboReactPackage {
     @Override
-    public List<NativeModule> createNativeModules(ReactApplicationContext reactContext) {
-        List<NativeModule> modules = new ArrayList<>();
-        modules.add(new AdjustModule(reactContext));
-        return modules;
+    @Nullable
+    public NativeModule getModule(String name, ReactApplicationContext reactContext) {
+        if (!AdjustModule.NAME.equals(name)) {
+            return null;
+        }
+
+        AdjustStartupTimings.mark(AdjustStartupTimings.PACKAGE_CREATED);
+        return new AdjustModule(reactContext);
     }
 
-    // Deprecated in RN 0.47
-    public List<Class<? extends JavaScriptModule>> createJSModules() {
-        return Collections.emptyList();
+    @Override
+    public ReactModuleInfoProvider getReactModuleInfoProvider() {
+        return new ReactModuleInfoProvider() {
+            @Override
+            public Map<String, ReactModuleInfo> getReactModuleInfos() {
+                Map<String, ReactModuleInfo> moduleInfos = new HashMap<>();
+                moduleInfos.put(AdjustModule.NAME, new ReactModuleInfo(
+                        AdjustModule.NAME,
+                        AdjustModule.class.getName(),
+                        false, // canOverrideExistingModule
+                        false, // needsEagerInit
+                        false, // hasConstants
+                        false, // isCxxModule
+                        AdjustModuleSpec.IS_TURBO_MODULE // isTurboModule
+                ));
+                return moduleInfos;
+            }
+        };
     }
 
     @Override
@@ -0,0 +1,74 @@
+//
+//  AdjustStartupTimings.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import android.os.SystemClock;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Timestamps (SystemClock.elapsedRealtime) of the steps of the Adjust startup.
+ * Only the first occurrence of every step is recorded, so JS reloads don't
+ * overwrite the cold start values.
+ */
+final class AdjustStartupTimings {
+    static final int PACKAGE_CREATED = 0;
+    static final int MODULE_INITIALIZED = 1;
+    static final int CREATE_CALLED = 2;
+    static final int CONFIG_PARSE_STARTED = 3;
+    static final int CONFIG_PARSED = 4;
+    static final int SDK_CREATE_STARTED = 5;
+    static final int SDK_CREATED = 6;
+    static final int FIRST_SESSION_TRACKED = 7;
+
+    static final String[] NAMES = {
+            "packageCreated",
+            "moduleInitialized",
+            "createCalled",
+            "configParseStarted",
+            "configParsed",
+            "sdkCreateStarted",
+            "sdkCreated",
+            "firstSessionTracked"
+    };
+
+    private static final AtomicLongArray MARKS = new AtomicLongArray(NAMES.length);
+
+    private AdjustStartupTimings() {}
+
+    /**
+     * Records the current time for the given step.
+     *
+     * @return true if this was the first time the step was recorded
+     */
+    static boolean mark(int step) {
+        return MARKS.compareAndSet(step, 0L, SystemClock.elapsedRealtime());
+    }
+
+    /**
+     * @return the time the step was recorded at, or 0 if it hasn't been recorded yet
+     */
+    static long get(int step) {
+        return MARKS.get(step);
+    }
+
+    static long duration(int fromStep, int toStep) {
+        long from = MARKS.get(fromStep);
+        long to = MARKS.get(toStep);
+        if (from == 0L || to == 0L) {
+            return -1L;
+        }
+        return to - from;
+    }
+
+    // The SDK has been torn down (test runs only), steps from create() on are measured again.
+    static void reset() {
+        for (int i = CREATE_CALLED; i < NAMES.length; i++) {
+            MARKS.set(i, 0L);
+        }
+    }
+}
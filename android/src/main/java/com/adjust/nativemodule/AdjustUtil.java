@@ -12,133 +12,350 @@ import java.util.Map;
 import java.util.List;
 import java.util.HashMap;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
 import android.net.Uri;
+import android.content.Context;
 import javax.annotation.Nullable;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
 import com.facebook.react.bridge.*;
 import com.facebook.react.modules.core.*;
 import com.adjust.sdk.*;
 
 final class AdjustUtil {
-    private static final String ATTRIBUTION_TRACKER_TOKEN = "trackerToken";
-    private static final String ATTRIBUTION_TRACKER_NAME = "trackerName";
-    private static final String ATTRIBUTION_NETWORK = "network";
-    private static final String ATTRIBUTION_CAMPAIGN = "campaign";
-    private static final String ATTRIBUTION_ADGROUP = "adgroup";
-    private static final String ATTRIBUTION_CREATIVE = "creative";
-    private static final String ATTRIBUTION_CLICK_LABEL = "clickLabel";
-    private static final String ATTRIBUTION_ADID = "adid";
-
-    private static final String EVENT_SUCCESS_MESSAGE = "message";
-    private static final String EVENT_SUCCESS_TIMESTAMP = "timestamp";
-    private static final String EVENT_SUCCESS_ADID = "adid";
-    private static final String EVENT_SUCCESS_EVENT_TOKEN = "eventToken";
-    private static final String EVENT_SUCCESS_CALLBACK_ID = "callbackId";
-    private static final String EVENT_SUCCESS_JSON_RESPONSE = "jsonResponse";
-
-    private static final String EVENT_FAILED_MESSAGE = "message";
-    private static final String EVENT_FAILED_TIMESTAMP = "timestamp";
-    private static final String EVENT_FAILED_ADID = "adid";
-    private static final String EVENT_FAILED_EVENT_TOKEN = "eventToken";
-    private static final String EVENT_FAILED_CALLBACK_ID = "callbackId";
-    private static final String EVENT_FAILED_WILL_RETRY = "willRetry";
-    private static final String EVENT_FAILED_JSON_RESPONSE = "jsonResponse";
-
-    private static final String SESSION_SUCCESS_MESSAGE = "message";
-    private static final String SESSION_SUCCESS_TIMESTAMP = "timestamp";
-    private static final String SESSION_SUCCESS_ADID = "adid";
-    private static final String SESSION_SUCCESS_JSON_RESPONSE = "jsonResponse";
-
-    private static final String SESSION_FAILED_MESSAGE = "message";
-    private static final String SESSION_FAILED_TIMESTAMP = "timestamp";
-    private static final String SESSION_FAILED_ADID = "adid";
-    private static final String SESSION_FAILED_WILL_RETRY = "willRetry";
-    private static final String SESSION_FAILED_JSON_RESPONSE = "jsonResponse";
+    private static final String STARTUP_TIMESTAMPS = "timestamps";
+    private static final String STARTUP_DURATIONS = "durations";
+    private static final String STARTUP_CONFIG_PARSING = "configParsing";
+    private static final String STARTUP_SDK_CREATE = "sdkCreate";
+    private static final String STARTUP_PACKAGE_TO_CREATE = "packageToCreate";
+    private static final String STARTUP_SDK_CREATE_TO_FIRST_SESSION = "sdkCreateToFirstSession";
+
+    private static final String COMMAND_QUEUE_DEPTH = "depth";
+    private static final String COMMAND_QUEUE_MAX_DEPTH = "maxDepth";
+    private static final String COMMAND_QUEUE_CAPACITY = "capacity";
+    private static final String COMMAND_QUEUE_ENQUEUED = "enqueued";
+    private static final String COMMAND_QUEUE_PROCESSED = "processed";
+    private static final String COMMAND_QUEUE_DROPPED = "dropped";
+
+    private static final String ATTRIBUTION_VERSION = "version";
+    private static final String ATTRIBUTION_CHANGED = "changed";
+    private static final String ATTRIBUTION_SNAPSHOT = "attribution";
+
+    private static final String TRANSACTION_ID_CACHE_SIZE = "size";
+    private static final String TRANSACTION_ID_CACHE_CAPACITY = "capacity";
+    private static final String TRANSACTION_ID_CACHE_DROPPED = "dropped";
+    private static final String EVENT_RATE_LIMITER_DROPPED = "dropped";
+    private static final String EVENT_RATE_LIMITER_DEFERRED = "deferred";
+    private static final String AD_REVENUE_AGGREGATOR_RAW = "raw";
+    private static final String AD_REVENUE_AGGREGATOR_SUBMITTED = "submitted";
+    private static final String AD_REVENUE_AGGREGATOR_PENDING = "pending";
+
+    private static final String METRICS_CALLS = "calls";
+    private static final String METRICS_EMISSIONS = "emissions";
+    private static final String METRICS_HISTOGRAM_BOUNDS = "histogramBoundsUs";
+    private static final String METRICS_COUNT = "count";
+    private static final String METRICS_TOTAL_TIME = "totalTimeUs";
+    private static final String METRICS_MAX_TIME = "maxTimeUs";
+    private static final String METRICS_HISTOGRAM = "histogram";
+    private static final String METRICS_PAYLOAD_SIZE = "payloadSize";
+
+    // Approximate size of values which aren't strings, in characters.
+    private static final int SCALAR_PAYLOAD_SIZE = 8;
 
     public static WritableMap attributionToMap(AdjustAttribution attribution) {
+        return attributionToMap(attribution, Arguments.createMap());
+    }
+
+    public static WritableMap attributionToMap(AdjustAttribution attribution, WritableMap map) {
+        AdjustCore.writeAttribution(attribution, new WritableMapWriter(map));
+        return map;
+    }
+
+    public static WritableMap attributionChangeToMap(AdjustAttributionVersions.Change change) {
         WritableMap map = Arguments.createMap();
-        if (null == attribution) {
+        map.putDouble(ATTRIBUTION_VERSION, change.version);
+        map.putMap(ATTRIBUTION_CHANGED, stringsToMap(change.fields));
+        return map;
+    }
+
+    public static WritableMap attributionSnapshotToMap(@Nullable AdjustAttributionVersions.Change snapshot, long version) {
+        WritableMap map = Arguments.createMap();
+        if (null == snapshot) {
+            map.putDouble(ATTRIBUTION_VERSION, version);
             return map;
         }
 
-        map.putString(ATTRIBUTION_TRACKER_TOKEN, null != attribution.trackerToken ? attribution.trackerToken : "");
-        map.putString(ATTRIBUTION_TRACKER_NAME, null != attribution.trackerName ? attribution.trackerName : "");
-        map.putString(ATTRIBUTION_NETWORK, null != attribution.network ? attribution.network : "");
-        map.putString(ATTRIBUTION_CAMPAIGN, null != attribution.campaign ? attribution.campaign : "");
-        map.putString(ATTRIBUTION_ADGROUP, null != attribution.adgroup ? attribution.adgroup : "");
-        map.putString(ATTRIBUTION_CREATIVE, null != attribution.creative ? attribution.creative : "");
-        map.putString(ATTRIBUTION_CLICK_LABEL, null != attribution.clickLabel ? attribution.clickLabel : "");
-        map.putString(ATTRIBUTION_ADID, null != attribution.adid ? attribution.adid : "");
+        map.putDouble(ATTRIBUTION_VERSION, snapshot.version);
+        map.putMap(ATTRIBUTION_SNAPSHOT, stringsToMap(snapshot.fields));
         return map;
     }
 
     public static WritableMap eventSuccessToMap(AdjustEventSuccess eventSuccess) {
+        return eventSuccessToMap(eventSuccess, null);
+    }
+
+    public static WritableMap eventSuccessToMap(AdjustEventSuccess eventSuccess, @Nullable AdjustJsonResponseHandler jsonResponseHandler) {
+        return eventSuccessToMap(eventSuccess, jsonResponseHandler, Arguments.createMap());
+    }
+
+    public static WritableMap eventSuccessToMap(AdjustEventSuccess eventSuccess, @Nullable AdjustJsonResponseHandler jsonResponseHandler, WritableMap map) {
+        AdjustCore.writeEventSuccess(eventSuccess, jsonResponseHandler, new WritableMapWriter(map));
+        return map;
+    }
+
+    public static WritableMap eventFailureToMap(AdjustEventFailure eventFailure) {
+        return eventFailureToMap(eventFailure, null);
+    }
+
+    public static WritableMap eventFailureToMap(AdjustEventFailure eventFailure, @Nullable AdjustJsonResponseHandler jsonResponseHandler) {
+        return eventFailureToMap(eventFailure, jsonResponseHandler, Arguments.createMap());
+    }
+
+    public static WritableMap eventFailureToMap(AdjustEventFailure eventFailure, @Nullable AdjustJsonResponseHandler jsonResponseHandler, WritableMap map) {
+        AdjustCore.writeEventFailure(eventFailure, jsonResponseHandler, new WritableMapWriter(map));
+        return map;
+    }
+
+    public static WritableMap sessionSuccessToMap(AdjustSessionSuccess sessionSuccess) {
+        return sessionSuccessToMap(sessionSuccess, null);
+    }
+
+    public static WritableMap sessionSuccessToMap(AdjustSessionSuccess sessionSuccess, @Nullable AdjustJsonResponseHandler jsonResponseHandler) {
+        return sessionSuccessToMap(sessionSuccess, jsonResponseHandler, Arguments.createMap());
+    }
+
+    public static WritableMap sessionSuccessToMap(AdjustSessionSuccess sessionSuccess, @Nullable AdjustJsonResponseHandler jsonResponseHandler, WritableMap map) {
+        AdjustCore.writeSessionSuccess(sessionSuccess, jsonResponseHandler, new WritableMapWriter(map));
+        return map;
+    }
+
+    public static WritableMap sessionFailureToMap(AdjustSessionFailure sessionFailure) {
+        return sessionFailureToMap(sessionFailure, null);
+    }
+
+    public static WritableMap sessionFailureToMap(AdjustSessionFailure sessionFailure, @Nullable AdjustJsonResponseHandler jsonResponseHandler) {
+        return sessionFailureToMap(sessionFailure, jsonResponseHandler, Arguments.createMap());
+    }
+
+    public static WritableMap sessionFailureToMap(AdjustSessionFailure sessionFailure, @Nullable AdjustJsonResponseHandler jsonResponseHandler, WritableMap map) {
+        AdjustCore.writeSessionFailure(sessionFailure, jsonResponseHandler, new WritableMapWriter(map));
+        return map;
+    }
+
+    public static WritableMap deferredDeeplinkToMap(Uri uri) {
         WritableMap map = Arguments.createMap();
-        if (null == eventSuccess) {
+        if (null == uri) {
             return map;
         }
 
-        map.putString(EVENT_SUCCESS_MESSAGE, null != eventSuccess.message ? eventSuccess.message : "");
-        map.putString(EVENT_SUCCESS_TIMESTAMP, null != eventSuccess.timestamp ? eventSuccess.timestamp : "");
-        map.putString(EVENT_SUCCESS_ADID, null != eventSuccess.adid ? eventSuccess.adid : "");
-        map.putString(EVENT_SUCCESS_EVENT_TOKEN, null != eventSuccess.eventToken ? eventSuccess.eventToken : "");
-        map.putString(EVENT_SUCCESS_CALLBACK_ID, null != eventSuccess.callbackId ? eventSuccess.callbackId : "");
-        map.putString(EVENT_SUCCESS_JSON_RESPONSE, null != eventSuccess.jsonResponse ? eventSuccess.jsonResponse.toString() : "");
+        map.putString("uri", uri.toString());
         return map;
     }
 
-    public static WritableMap eventFailureToMap(AdjustEventFailure eventFailure) {
+    public static WritableMap startupReportToMap() {
+        WritableMap timestamps = Arguments.createMap();
+        for (int step = 0; step < AdjustStartupTimings.NAMES.length; step++) {
+            long timestamp = AdjustStartupTimings.get(step);
+            if (timestamp == 0L) {
+                timestamps.putNull(AdjustStartupTimings.NAMES[step]);
+            } else {
+                timestamps.putDouble(AdjustStartupTimings.NAMES[step], timestamp);
+            }
+        }
+
+        WritableMap durations = Arguments.createMap();
+        durations.putDouble(STARTUP_CONFIG_PARSING, AdjustStartupTimings.duration(
+                AdjustStartupTimings.CONFIG_PARSE_STARTED, AdjustStartupTimings.CONFIG_PARSED));
+        durations.putDouble(STARTUP_SDK_CREATE, AdjustStartupTimings.duration(
+                AdjustStartupTimings.SDK_CREATE_STARTED, AdjustStartupTimings.SDK_CREATED));
+        durations.putDouble(STARTUP_PACKAGE_TO_CREATE, AdjustStartupTimings.duration(
+                AdjustStartupTimings.PACKAGE_CREATED, AdjustStartupTimings.CREATE_CALLED));
+        durations.putDouble(STARTUP_SDK_CREATE_TO_FIRST_SESSION, AdjustStartupTimings.duration(
+                AdjustStartupTimings.SDK_CREATED, AdjustStartupTimings.FIRST_SESSION_TRACKED));
+
+        WritableMap map = Arguments.createMap();
+        map.putMap(STARTUP_TIMESTAMPS, timestamps);
+        map.putMap(STARTUP_DURATIONS, durations);
+        return map;
+    }
+
+    public static WritableMap commandQueueToMap(AdjustCommandQueue commandQueue) {
         WritableMap map = Arguments.createMap();
-        if (null == eventFailure) {
+        if (null == commandQueue) {
             return map;
         }
 
-        map.putString(EVENT_FAILED_MESSAGE, null != eventFailure.message ? eventFailure.message : "");
-        map.putString(EVENT_FAILED_TIMESTAMP, null != eventFailure.timestamp ? eventFailure.timestamp : "");
-        map.putString(EVENT_FAILED_ADID, null != eventFailure.adid ? eventFailure.adid : "");
-        map.putString(EVENT_FAILED_EVENT_TOKEN, null != eventFailure.eventToken ? eventFailure.eventToken : "");
-        map.putString(EVENT_FAILED_CALLBACK_ID, null != eventFailure.callbackId ? eventFailure.callbackId : "");
-        map.putString(EVENT_FAILED_WILL_RETRY, eventFailure.willRetry ? "true" : "false");
-        map.putString(EVENT_FAILED_JSON_RESPONSE, null != eventFailure.jsonResponse ? eventFailure.jsonResponse.toString() : "");
+        map.putInt(COMMAND_QUEUE_DEPTH, commandQueue.getDepth());
+        map.putInt(COMMAND_QUEUE_MAX_DEPTH, commandQueue.getMaxDepth());
+        map.putInt(COMMAND_QUEUE_CAPACITY, commandQueue.getCapacity());
+        map.putDouble(COMMAND_QUEUE_ENQUEUED, commandQueue.getEnqueuedCount());
+        map.putDouble(COMMAND_QUEUE_PROCESSED, commandQueue.getProcessedCount());
+        map.putDouble(COMMAND_QUEUE_DROPPED, commandQueue.getDroppedCount());
         return map;
     }
 
-    public static WritableMap sessionSuccessToMap(AdjustSessionSuccess sessionSuccess) {
+    public static WritableMap transactionIdCacheToMap(AdjustTransactionIdCache transactionIdCache) {
         WritableMap map = Arguments.createMap();
-        if (null == sessionSuccess) {
+        if (null == transactionIdCache) {
             return map;
         }
 
-        map.putString(SESSION_SUCCESS_MESSAGE, null != sessionSuccess.message ? sessionSuccess.message : "");
-        map.putString(SESSION_SUCCESS_TIMESTAMP, null != sessionSuccess.timestamp ? sessionSuccess.timestamp : "");
-        map.putString(SESSION_SUCCESS_ADID, null != sessionSuccess.adid ? sessionSuccess.adid : "");
-        map.putString(SESSION_SUCCESS_JSON_RESPONSE, null != sessionSuccess.jsonResponse ? sessionSuccess.jsonResponse.toString() : "");
+        map.putInt(TRANSACTION_ID_CACHE_SIZE, transactionIdCache.size());
+        map.putInt(TRANSACTION_ID_CACHE_CAPACITY, transactionIdCache.getCapacity());
+        map.putDouble(TRANSACTION_ID_CACHE_DROPPED, transactionIdCache.getDroppedCount());
         return map;
     }
 
-    public static WritableMap sessionFailureToMap(AdjustSessionFailure sessionFailure) {
+    public static WritableMap eventRateLimiterToMap(AdjustEventRateLimiter eventRateLimiter) {
         WritableMap map = Arguments.createMap();
-        if (null == sessionFailure) {
+        if (null == eventRateLimiter) {
             return map;
         }
 
-        map.putString(SESSION_FAILED_MESSAGE, null != sessionFailure.message ? sessionFailure.message : "");
-        map.putString(SESSION_FAILED_TIMESTAMP, null != sessionFailure.timestamp ? sessionFailure.timestamp : "");
-        map.putString(SESSION_FAILED_ADID, null != sessionFailure.adid ? sessionFailure.adid : "");
-        map.putString(SESSION_FAILED_WILL_RETRY, sessionFailure.willRetry ? "true" : "false");
-        map.putString(SESSION_FAILED_JSON_RESPONSE, null != sessionFailure.jsonResponse ? sessionFailure.jsonResponse.toString() : "");
+        map.putDouble(EVENT_RATE_LIMITER_DROPPED, eventRateLimiter.getDroppedCount());
+        map.putDouble(EVENT_RATE_LIMITER_DEFERRED, eventRateLimiter.getDeferredCount());
         return map;
     }
 
-    public static WritableMap deferredDeeplinkToMap(Uri uri) {
+    public static WritableMap adRevenueAggregatorToMap(AdjustAdRevenueAggregator adRevenueAggregator) {
         WritableMap map = Arguments.createMap();
-        if (null == uri) {
+        if (null == adRevenueAggregator) {
             return map;
         }
 
-        map.putString("uri", uri.toString());
+        map.putDouble(AD_REVENUE_AGGREGATOR_RAW, adRevenueAggregator.getRawCount());
+        map.putDouble(AD_REVENUE_AGGREGATOR_SUBMITTED, adRevenueAggregator.getSubmittedCount());
+        map.putInt(AD_REVENUE_AGGREGATOR_PENDING, adRevenueAggregator.getPendingCount());
+        return map;
+    }
+
+    public static WritableMap listenerCountsToMap(AdjustListenerCounts listenerCounts) {
+        WritableMap map = Arguments.createMap();
+        if (null == listenerCounts) {
+            return map;
+        }
+
+        for (Map.Entry<String, AtomicInteger> entry : listenerCounts.asMap().entrySet()) {
+            map.putInt(entry.getKey(), entry.getValue().get());
+        }
+        return map;
+    }
+
+    public static WritableMap metricsToMap(AdjustBridgeMetrics metrics) {
+        WritableMap map = Arguments.createMap();
+        if (null == metrics) {
+            return map;
+        }
+
+        WritableArray histogramBounds = Arguments.createArray();
+        for (long bound : AdjustBridgeMetrics.BUCKET_BOUNDS_US) {
+            histogramBounds.pushDouble(bound);
+        }
+
+        map.putArray(METRICS_HISTOGRAM_BOUNDS, histogramBounds);
+        map.putMap(METRICS_CALLS, metricsEntriesToMap(metrics.getCalls()));
+        map.putMap(METRICS_EMISSIONS, metricsEntriesToMap(metrics.getEmissions()));
         return map;
     }
 
+    private static WritableMap stringsToMap(Map<String, String> strings) {
+        WritableMap map = Arguments.createMap();
+        for (Map.Entry<String, String> entry : strings.entrySet()) {
+            map.putString(entry.getKey(), entry.getValue());
+        }
+        return map;
+    }
+
+    private static WritableMap metricsEntriesToMap(Map<String, AdjustBridgeMetrics.Entry> entries) {
+        WritableMap map = Arguments.createMap();
+        for (Map.Entry<String, AdjustBridgeMetrics.Entry> entry : entries.entrySet()) {
+            AdjustBridgeMetrics.Entry metrics = entry.getValue();
+            WritableArray histogram = Arguments.createArray();
+            for (int i = 0; i < metrics.histogram.length(); i++) {
+                histogram.pushDouble(metrics.histogram.get(i));
+            }
+
+            WritableMap entryMap = Arguments.createMap();
+            entryMap.putDouble(METRICS_COUNT, metrics.count.get());
+            entryMap.putDouble(METRICS_TOTAL_TIME, metrics.totalTimeNanos.get() / 1000L);
+            entryMap.putDouble(METRICS_MAX_TIME, metrics.maxTimeNanos.get() / 1000L);
+            entryMap.putDouble(METRICS_PAYLOAD_SIZE, metrics.payloadSize.get());
+            entryMap.putArray(METRICS_HISTOGRAM, histogram);
+            map.putMap(entry.getKey(), entryMap);
+        }
+        return map;
+    }
+
+    /**
+     * estimatePayloadSize approximates the size of a {@link ReadableMap} in characters.
+     * Keys and strings count with their length, other values with a fixed size.
+     *
+     * @param readableMap The map to be measured.
+     * @return The approximate size of the map, 0 for null.
+     */
+    public static long estimatePayloadSize(@Nullable ReadableMap readableMap) {
+        if (readableMap == null) {
+            return 0L;
+        }
+
+        long size = 0L;
+        ReadableMapKeySetIterator iterator = readableMap.keySetIterator();
+        while (iterator.hasNextKey()) {
+            String key = iterator.nextKey();
+            size += key.length();
+            switch (readableMap.getType(key)) {
+                case Null:
+                    break;
+                case String:
+                    size += estimatePayloadSize(readableMap.getString(key));
+                    break;
+                case Map:
+                    size += estimatePayloadSize(readableMap.getMap(key));
+                    break;
+                case Array:
+                    size += estimatePayloadSize(readableMap.getArray(key));
+                    break;
+                default:
+                    size += SCALAR_PAYLOAD_SIZE;
+            }
+        }
+
+        return size;
+    }
+
+    public static long estimatePayloadSize(@Nullable ReadableArray readableArray) {
+        if (readableArray == null) {
+            return 0L;
+        }
+
+        long size = 0L;
+        for (int index = 0; index < readableArray.size(); index++) {
+            switch (readableArray.getType(index)) {
+                case Null:
+                    break;
+                case String:
+                    size += estimatePayloadSize(readableArray.getString(index));
+                    break;
+                case Map:
+                    size += estimatePayloadSize(readableArray.getMap(index));
+                    break;
+                case Array:
+                    size += estimatePayloadSize(readableArray.getArray(index));
+                    break;
+                default:
+                    size += SCALAR_PAYLOAD_SIZE;
+            }
+        }
+
+        return size;
+    }
+
+    public static long estimatePayloadSize(@Nullable String value) {
+        return null != value ? value.length() : 0L;
+    }
+
     /** 
      * toMap converts a {@link ReadableMap} into a HashMap. 
      * 
@@ -158,12 +375,38 @@ final class AdjustUtil {
         Map<String, Object> result = new HashMap<>();
         while (iterator.hasNextKey()) {
             String key = iterator.nextKey();
-            String value = toObject(readableMap, key).toString();
+            Object value = toObject(readableMap, key);
             if (value == null) {
                 AdjustFactory.getLogger().warn("Null parameter inside key-value pair with key: " + key);
                 continue;
             }
-            result.put(key, value);
+            result.put(key, value.toString());
+        }
+
+        return result;
+    }
+
+    /**
+     * toStringMap converts the string values of a {@link ReadableMap} into a HashMap,
+     * entries with other types of values are skipped.
+     *
+     * @param readableMap The ReadableMap to be converted
+     * @return A HashMap containing the string values of the ReadableMap
+     */
+    public static Map<String, String> toStringMap(@Nullable ReadableMap readableMap) {
+        Map<String, String> result = new HashMap<>();
+        if (readableMap == null) {
+            return result;
+        }
+
+        ReadableMapKeySetIterator iterator = readableMap.keySetIterator();
+        while (iterator.hasNextKey()) {
+            String key = iterator.nextKey();
+            if (readableMap.getType(key) != ReadableType.String) {
+                AdjustFactory.getLogger().warn("Non string parameter inside key-value pair with key: " + key);
+                continue;
+            }
+            result.put(key, readableMap.getString(key));
         }
 
         return result;
@@ -215,14 +458,199 @@ final class AdjustUtil {
         return result;
     } 
 
-    public static boolean isFieldValid(String field) {
-        if (field != null) {
-            if (!field.equals("") && !field.equals("null")) {
-                return true;
+    /**
+     * toStringValue extracts a value from a {@link ReadableMap} by its key
+     * and returns its string representation, without boxing string values.
+     *
+     * @param readableMap The Map containing the value to be converted
+     * @param key The key for the value to be converted
+     * @return The string representation of the value, or null for null values
+     */
+    public static String toStringValue(ReadableMap readableMap, String key) {
+        ReadableType readableType = readableMap.getType(key);
+        switch (readableType) {
+            case String:
+                // Fast path, parameters set from JS are always strings.
+                return readableMap.getString(key);
+            case Null:
+                AdjustFactory.getLogger().warn("Null parameter inside key-value pair with key: " + key);
+                return null;
+            case Boolean:
+                return String.valueOf(readableMap.getBoolean(key));
+            case Number:
+                // Can be int or double.
+                double tmp = readableMap.getDouble(key);
+                if (tmp == (int)tmp) {
+                    return String.valueOf((int)tmp);
+                }
+                return String.valueOf(tmp);
+            default:
+                Object value = toObject(readableMap, key);
+                return null != value ? value.toString() : null;
+        }
+    }
+
+    /**
+     * toAdjustEvent builds an {@link AdjustEvent} out of the fields in a {@link ReadableMap}.
+     *
+     * @param mapEvent The map containing the event fields.
+     * @return The event, or null if the fields don't describe a valid event.
+     */
+    public static AdjustEvent toAdjustEvent(ReadableMap mapEvent) {
+        if (mapEvent == null) {
+            return null;
+        }
+
+        return AdjustCore.toAdjustEvent(new ReadableMapReader(mapEvent));
+    }
+
+    /**
+     * toAdjustConfig builds an {@link AdjustConfig} out of the options in a {@link ReadableMap}.
+     * Options which only concern the bridge are not handled here.
+     *
+     * @param context The context to create the config with.
+     * @param mapConfig The map containing the config options.
+     * @return The config, or null if the options don't describe a valid config.
+     */
+    public static AdjustConfig toAdjustConfig(final Context context, ReadableMap mapConfig) {
+        if (mapConfig == null) {
+            return null;
+        }
+
+        return AdjustCore.toAdjustConfig(new AdjustCore.ConfigFactory() {
+            @Override
+            public AdjustConfig newConfig(String appToken, String environment, boolean allowSuppressLogLevel) {
+                return new AdjustConfig(context, appToken, environment, allowSuppressLogLevel);
+            }
+        }, new ReadableMapReader(mapConfig));
+    }
+
+    /**
+     * toReadableMap converts a {@link JSONObject} into a ReadableMap.
+     *
+     * @param jsonObject The JSONObject to be converted.
+     * @return A ReadableMap containing the data that was in the JSONObject.
+     */
+    public static ReadableMap toReadableMap(JSONObject jsonObject) throws JSONException {
+        WritableMap map = new JavaOnlyMap();
+        Iterator<String> keys = jsonObject.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            Object value = jsonObject.get(key);
+            if (value instanceof JSONObject) {
+                map.putMap(key, (WritableMap)toReadableMap((JSONObject)value));
+            } else if (value instanceof JSONArray) {
+                map.putArray(key, (WritableArray)toReadableArray((JSONArray)value));
+            } else if (value instanceof Boolean) {
+                map.putBoolean(key, (Boolean)value);
+            } else if (value instanceof Number) {
+                map.putDouble(key, ((Number)value).doubleValue());
+            } else if (value instanceof String) {
+                map.putString(key, (String)value);
+            } else {
+                map.putNull(key);
+            }
+        }
+
+        return map;
+    }
+
+    /**
+     * toJsonObject converts a {@link ReadableMap} into a JSONObject.
+     *
+     * @param readableMap The ReadableMap to be converted.
+     * @return A JSONObject containing the data that was in the ReadableMap.
+     */
+    public static JSONObject toJsonObject(ReadableMap readableMap) throws JSONException {
+        JSONObject jsonObject = new JSONObject();
+        ReadableMapKeySetIterator iterator = readableMap.keySetIterator();
+        while (iterator.hasNextKey()) {
+            String key = iterator.nextKey();
+            switch (readableMap.getType(key)) {
+                case Null:
+                    jsonObject.put(key, JSONObject.NULL);
+                    break;
+                case Boolean:
+                    jsonObject.put(key, readableMap.getBoolean(key));
+                    break;
+                case Number:
+                    jsonObject.put(key, readableMap.getDouble(key));
+                    break;
+                case String:
+                    jsonObject.put(key, readableMap.getString(key));
+                    break;
+                case Map:
+                    jsonObject.put(key, toJsonObject(readableMap.getMap(key)));
+                    break;
+                case Array:
+                    jsonObject.put(key, toJsonArray(readableMap.getArray(key)));
+                    break;
+            }
+        }
+
+        return jsonObject;
+    }
+
+    /**
+     * toJsonArray converts a {@link ReadableArray} into a JSONArray.
+     *
+     * @param readableArray The ReadableArray to be converted.
+     * @return A JSONArray containing the data that was in the ReadableArray.
+     */
+    public static JSONArray toJsonArray(ReadableArray readableArray) throws JSONException {
+        JSONArray jsonArray = new JSONArray();
+        for (int index = 0; index < readableArray.size(); index++) {
+            switch (readableArray.getType(index)) {
+                case Null:
+                    jsonArray.put(JSONObject.NULL);
+                    break;
+                case Boolean:
+                    jsonArray.put(readableArray.getBoolean(index));
+                    break;
+                case Number:
+                    jsonArray.put(readableArray.getDouble(index));
+                    break;
+                case String:
+                    jsonArray.put(readableArray.getString(index));
+                    break;
+                case Map:
+                    jsonArray.put(toJsonObject(readableArray.getMap(index)));
+                    break;
+                case Array:
+                    jsonArray.put(toJsonArray(readableArray.getArray(index)));
+                    break;
+            }
+        }
+
+        return jsonArray;
+    }
+
+    /**
+     * toReadableArray converts a {@link JSONArray} into a ReadableArray.
+     *
+     * @param jsonArray The JSONArray to be converted.
+     * @return A ReadableArray containing the data that was in the JSONArray.
+     */
+    public static ReadableArray toReadableArray(JSONArray jsonArray) throws JSONException {
+        WritableArray array = new JavaOnlyArray();
+        for (int index = 0; index < jsonArray.length(); index++) {
+            Object value = jsonArray.get(index);
+            if (value instanceof JSONObject) {
+                array.pushMap((WritableMap)toReadableMap((JSONObject)value));
+            } else if (value instanceof JSONArray) {
+                array.pushArray((WritableArray)toReadableArray((JSONArray)value));
+            } else if (value instanceof Boolean) {
+                array.pushBoolean((Boolean)value);
+            } else if (value instanceof Number) {
+                array.pushDouble(((Number)value).doubleValue());
+            } else if (value instanceof String) {
+                array.pushString((String)value);
+            } else {
+                array.pushNull();
             }
         }
 
-        return false;
+        return array;
     }
 
     /** 
@@ -233,7 +661,7 @@ final class AdjustUtil {
      * @param key The key for the value to be converted 
      * @return The converted POJO 
      */ 
-    private static Object toObject(@Nullable ReadableMap readableMap, String key) {
+    static Object toObject(@Nullable ReadableMap readableMap, String key) {
         if (readableMap == null) {
             return null; 
         }
@@ -0,0 +1,82 @@
+//
+//  ReadableMapReader.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import javax.annotation.Nullable;
+import com.facebook.react.bridge.*;
+
+/**
+ * {@link AdjustMapReader} backed by a {@link ReadableMap}, values are read straight
+ * from the bridge map without copying it.
+ */
+final class ReadableMapReader implements AdjustMapReader {
+    private final ReadableMap map;
+
+    ReadableMapReader(ReadableMap map) {
+        this.map = map;
+    }
+
+    @Override
+    public boolean hasValue(String key) {
+        return map.hasKey(key) && !map.isNull(key);
+    }
+
+    @Override
+    public String getString(String key) {
+        return map.getString(key);
+    }
+
+    @Override
+    public boolean getBoolean(String key) {
+        return map.getBoolean(key);
+    }
+
+    @Override
+    public double getDouble(String key) {
+        return map.getDouble(key);
+    }
+
+    @Override
+    @Nullable
+    public AdjustMapReader getMap(String key) {
+        ReadableMap value = map.getMap(key);
+        return null != value ? new ReadableMapReader(value) : null;
+    }
+
+    @Override
+    public Iterator<String> keys() {
+        final ReadableMapKeySetIterator iterator = map.keySetIterator();
+        return new Iterator<String>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNextKey();
+            }
+
+            @Override
+            public String next() {
+                if (!iterator.hasNextKey()) {
+                    throw new NoSuchElementException();
+                }
+                return iterator.nextKey();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    @Nullable
+    public String getStringValue(String key) {
+        return AdjustUtil.toStringValue(map, key);
+    }
+}
@@ -0,0 +1,124 @@
+//
+//  StaticAdjustSdk.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import org.json.JSONObject;
+import com.adjust.sdk.*;
+
+/**
+ * {@link AdjustSdk} which calls the static {@link Adjust} API.
+ *
+ * Creating it also routes the logging of the core to the SDK logger.
+ */
+final class StaticAdjustSdk implements AdjustSdk {
+    static final StaticAdjustSdk INSTANCE = new StaticAdjustSdk();
+
+    private StaticAdjustSdk() {
+        AdjustLog.setLogger(new AdjustLog.Logger() {
+            @Override
+            public void warn(String format, Object... parameters) {
+                AdjustFactory.getLogger().warn(format, parameters);
+            }
+
+            @Override
+            public void error(String format, Object... parameters) {
+                AdjustFactory.getLogger().error(format, parameters);
+            }
+        });
+    }
+
+    @Override
+    public void onCreate(AdjustConfig config) {
+        Adjust.onCreate(config);
+    }
+
+    @Override
+    public void onResume() {
+        Adjust.onResume();
+    }
+
+    @Override
+    public void onPause() {
+        Adjust.onPause();
+    }
+
+    @Override
+    public void trackEvent(AdjustEvent event) {
+        Adjust.trackEvent(event);
+    }
+
+    @Override
+    public void trackAdRevenue(String source, JSONObject payload) {
+        Adjust.trackAdRevenue(source, payload);
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        Adjust.setEnabled(enabled);
+    }
+
+    @Override
+    public void setOfflineMode(boolean enabled) {
+        Adjust.setOfflineMode(enabled);
+    }
+
+    @Override
+    public void sendFirstPackages() {
+        Adjust.sendFirstPackages();
+    }
+
+    @Override
+    public void addSessionCallbackParameter(String key, String value) {
+        Adjust.addSessionCallbackParameter(key, value);
+    }
+
+    @Override
+    public void addSessionPartnerParameter(String key, String value) {
+        Adjust.addSessionPartnerParameter(key, value);
+    }
+
+    @Override
+    public void removeSessionCallbackParameter(String key) {
+        Adjust.removeSessionCallbackParameter(key);
+    }
+
+    @Override
+    public void removeSessionPartnerParameter(String key) {
+        Adjust.removeSessionPartnerParameter(key);
+    }
+
+    @Override
+    public void resetSessionCallbackParameters() {
+        Adjust.resetSessionCallbackParameters();
+    }
+
+    @Override
+    public void resetSessionPartnerParameters() {
+        Adjust.resetSessionPartnerParameters();
+    }
+
+    @Override
+    public String getAdid() {
+        return Adjust.getAdid();
+    }
+
+    @Override
+    public AdjustAttribution getAttribution() {
+        return Adjust.getAttribution();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return Adjust.isEnabled();
+    }
+
+    @Override
+    public String getSdkVersion() {
+        return Adjust.getSdkVersion();
+    }
+}
@@ -0,0 +1,26 @@
+//
+//  WritableMapWriter.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import com.facebook.react.bridge.*;
+
+/**
+ * {@link AdjustMapWriter} which writes into a {@link WritableMap}.
+ */
+final class WritableMapWriter implements AdjustMapWriter {
+    private final WritableMap map;
+
+    WritableMapWriter(WritableMap map) {
+        this.map = map;
+    }
+
+    @Override
+    public void putString(String key, String value) {
+        map.putString(key, value);
+    }
+}
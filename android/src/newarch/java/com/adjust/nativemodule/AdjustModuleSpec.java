@@ -0,0 +1,23 @@
+//
+//  AdjustModuleSpec.java
+//  Adjust SDK
+//
+//  Copyright (c) 2019 Adjust GmbH. All rights reserved.
+//
+
+package com.adjust.nativemodule;
+
+import com.facebook.react.bridge.*;
+
+/**
+ * Base class of {@link AdjustModule} when the new architecture is enabled. NativeAdjustSpec is
+ * generated by codegen from specs/NativeAdjust.js, the module is served as a TurboModule.
+ */
+abstract class AdjustModuleSpec extends NativeAdjustSpec {
+    // Reported to React Native by AdjustPackage, the architecture is fixed by the source set.
+    static final boolean IS_TURBO_MODULE = true;
+
+    AdjustModuleSpec(ReactApplicationContext reactContext) {
+        super(reactContext);
+    }
+}
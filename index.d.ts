@@ -1,6 +1,10 @@
 declare module 'react-native-adjust' {
   type Environment = 'sandbox' | 'production'
   type LogLevel = string
+  type JsonResponseMode = 'full' | 'omit' | 'capped' | 'handle'
+  type CallbackDeliveryMode = 'immediate' | 'batched'
+  type IngestionQueueOverflowPolicy = 'block' | 'dropNewest' | 'dropOldest'
+  type EventRateLimitPolicy = 'drop' | 'defer'
 
   interface AdjustAttribution {
     trackerToken: string
@@ -19,7 +23,8 @@ declare module 'react-native-adjust' {
     adid: string
     eventToken: string
     callbackId: string
-    jsonResponse: string
+    jsonResponse?: string
+    jsonResponseHandle?: string
   }
 
   interface AdjustEventTrackingFailure {
@@ -29,14 +34,16 @@ declare module 'react-native-adjust' {
     eventToken: string
     callbackId: string
     willRetry: boolean
-    jsonResponse: string
+    jsonResponse?: string
+    jsonResponseHandle?: string
   }
 
   interface AdjustSessionTrackingSuccess {
     message: string
     timestamp: string
     adid: string
-    jsonResponse: string
+    jsonResponse?: string
+    jsonResponseHandle?: string
   }
 
   interface AdjustSessionTrackingFailure {
@@ -44,11 +51,77 @@ declare module 'react-native-adjust' {
     timestamp: string
     adid: string
     willRetry: boolean
-    jsonResponse: string
+    jsonResponse?: string
+    jsonResponseHandle?: string
   }
 
   interface AdjustUri {
     uri: string
+    decisionId?: number
+  }
+
+  interface AdjustAttributionSnapshot {
+    version: number
+    attribution?: AdjustAttribution
+  }
+
+  interface AdjustStartupReport {
+    timestamps: {
+      packageCreated: number | null
+      moduleInitialized: number | null
+      createCalled: number | null
+      configParseStarted: number | null
+      configParsed: number | null
+      sdkCreateStarted: number | null
+      sdkCreated: number | null
+      firstSessionTracked: number | null
+    }
+    durations: {
+      configParsing: number
+      sdkCreate: number
+      packageToCreate: number
+      sdkCreateToFirstSession: number
+    }
+  }
+
+  interface AdjustIngestionQueueStats {
+    depth: number
+    maxDepth: number
+    capacity: number
+    enqueued: number
+    processed: number
+    dropped: number
+  }
+
+  interface AdjustTransactionDeduplicationStats {
+    size: number
+    capacity: number
+    dropped: number
+  }
+
+  interface AdjustEventRateLimitStats {
+    dropped: number
+    deferred: number
+  }
+
+  interface AdjustAdRevenueAggregationStats {
+    raw: number
+    submitted: number
+    pending: number
+  }
+
+  interface AdjustBridgeMetricsEntry {
+    count: number
+    totalTimeUs: number
+    maxTimeUs: number
+    payloadSize: number
+    histogram: number[]
+  }
+
+  interface AdjustBridgeMetrics {
+    histogramBoundsUs: number[]
+    calls: { [method: string]: AdjustBridgeMetricsEntry }
+    emissions: { [eventName: string]: AdjustBridgeMetricsEntry }
   }
 
   export class AdjustConfig {
@@ -82,8 +155,34 @@ declare module 'react-native-adjust' {
 
     public setShouldLaunchDeeplink(shouldLaunchDeeplink: boolean): void
 
+    public setJsonResponseMode(
+      jsonResponseMode: JsonResponseMode,
+      maxLength?: number
+    ): void
+
+    public setCallbackDeliveryMode(
+      callbackDeliveryMode: CallbackDeliveryMode,
+      batchIntervalInMilliseconds?: number
+    ): void
+
+    public setIngestionQueueOptions(
+      capacity: number,
+      overflowPolicy: IngestionQueueOverflowPolicy
+    ): void
+
+    public setEventRateLimit(
+      eventsPerMinute: number,
+      burst: number,
+      policy: EventRateLimitPolicy
+    ): void
+
+    public setAdRevenueAggregation(
+      intervalInMilliseconds: number,
+      maxCount?: number
+    ): void
+
     public setAttributionCallbackListener(
-      callback: (attribution: AdjustAttribution) => void
+      callback: (attribution: AdjustAttribution, changedFields?: string[]) => void
     ): void
 
     public setEventTrackingSucceededCallbackListener(
@@ -103,7 +202,15 @@ declare module 'react-native-adjust' {
     ): void
 
     public setDeferredDeeplinkCallbackListener(
-      callback: (uri: AdjustUri) => void
+      callback: (uri: AdjustUri) => boolean | Promise<boolean> | void
+    ): void
+
+    public setDeferredDeeplinkDecisionTimeout(
+      timeoutInMilliseconds: number
+    ): void
+
+    public setStartupReportCallbackListener(
+      callback: (startupReport: AdjustStartupReport) => void
     ): void
 
     static LogLevelVerbose: LogLevel
@@ -113,6 +220,17 @@ declare module 'react-native-adjust' {
     static LogLevelError: LogLevel
     static LogLevelAssert: LogLevel
     static LogLevelSuppress: LogLevel
+    static IngestionQueueOverflowBlock: IngestionQueueOverflowPolicy
+    static IngestionQueueOverflowDropNewest: IngestionQueueOverflowPolicy
+    static IngestionQueueOverflowDropOldest: IngestionQueueOverflowPolicy
+    static EventRateLimitPolicyDrop: EventRateLimitPolicy
+    static EventRateLimitPolicyDefer: EventRateLimitPolicy
+    static JsonResponseModeFull: JsonResponseMode
+    static JsonResponseModeOmit: JsonResponseMode
+    static JsonResponseModeCapped: JsonResponseMode
+    static JsonResponseModeHandle: JsonResponseMode
+    static CallbackDeliveryModeImmediate: CallbackDeliveryMode
+    static CallbackDeliveryModeBatched: CallbackDeliveryMode
     static EnvironmentSandbox: Environment
     static EnvironmentProduction: Environment
   }
@@ -130,26 +248,47 @@ declare module 'react-native-adjust' {
     componentWillUnmount: () => void
     create: (adjustConfig: AdjustConfig) => void
     trackEvent: (adjustEvent: AdjustEvent) => void
+    trackEvents: (adjustEvents: AdjustEvent[]) => void
     setEnabled: (enabled: boolean) => void
     isEnabled: (callback: (enabled: boolean) => void) => void
     setOfflineMode: (enabled: boolean) => void
     setPushToken: (token: string) => void
     appWillOpenUrl: (url: string) => void
     sendFirstPackages: () => void
-    trackAdRevenue: (source: string, payload: string) => void
+    trackAdRevenue: (source: string, payload: string | object) => void
     addSessionCallbackParameter: (key: string, value: string) => void
     addSessionPartnerParameter: (key: string, value: string) => void
     removeSessionCallbackParameter: (key: string) => void
     removeSessionPartnerParameter: (key: string) => void
     resetSessionCallbackParameters: () => void
     resetSessionPartnerParameters: () => void
+    setSessionCallbackParameters: (parameters: { [key: string]: string }) => void
+    setSessionPartnerParameters: (parameters: { [key: string]: string }) => void
     gdprForgetMe: () => void
     getIdfa: (callback: (idfa: string) => void) => void
     getGoogleAdId: (callback: (adid: string) => void) => void
     getAdid: (callback: (adid: string) => void) => void
     getAttribution: (callback: (attribution: AdjustAttribution) => void) => void
+    getAdidSync: () => string | null
+    getAttributionIfChanged: (version: number, callback: (snapshot: AdjustAttributionSnapshot) => void) => void
+    getAttributionSync: () => AdjustAttribution | null
+    isEnabledSync: () => boolean | null
+    getSdkVersionSync: () => string | null
+    getAdidAsync: () => Promise<string>
+    getAttributionAsync: () => Promise<AdjustAttribution>
+    isEnabledAsync: () => Promise<boolean>
+    getSdkVersionAsync: () => Promise<string>
     getAmazonAdId: (callback: (adid: string) => void) => void
     getSdkVersion: (callback: (sdkVersion: string) => void) => void
+    getStartupReport: (callback: (startupReport: AdjustStartupReport | null) => void) => void
+    getListenerCounts: (callback: (counts: { [eventName: string]: number } | null) => void) => void
+    getJsonResponse: (handle: string, callback: (jsonResponse: string) => void) => void
+    getIngestionQueueStats: (callback: (stats: AdjustIngestionQueueStats | null) => void) => void
+    getTransactionDeduplicationStats: (callback: (stats: AdjustTransactionDeduplicationStats | null) => void) => void
+    getEventRateLimitStats: (callback: (stats: AdjustEventRateLimitStats | null) => void) => void
+    getAdRevenueAggregationStats: (callback: (stats: AdjustAdRevenueAggregationStats | null) => void) => void
+    getMetrics: (callback: (metrics: AdjustBridgeMetrics | null) => void) => void
+    resetMetrics: () => void
     setReferrer: (referrer: string) => void
     convertUniversalLink: (url: string, scheme: string, callback: (convertedUrl: string) => void) => void
   }
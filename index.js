@@ -6,122 +6,405 @@ import {
     Platform,
 } from 'react-native';
 
-const module_adjust = NativeModules.Adjust;
+// The native module is looked up on first use rather than on import, so that on Android
+// it's only instantiated once the app actually calls into Adjust.
+let module_adjust_instance = null;
+function module_adjust() {
+    if (module_adjust_instance === null) {
+        module_adjust_instance = require('./specs/NativeAdjust').default;
+    }
+    return module_adjust_instance;
+}
 
 let module_adjust_emitter = null;
 if (Platform.OS === "android") {
-    module_adjust_emitter = new NativeEventEmitter(NativeModules.Adjust);
+    // Listener counts are reported to the native module by addAdjustListener below.
+    module_adjust_emitter = new NativeEventEmitter();
 } else if (Platform.OS === "ios") {
     module_adjust_emitter = new NativeEventEmitter(NativeModules.AdjustEventEmitter);
 }
 
+// On Android the native module skips building and emitting callbacks nobody listens to,
+// so every subscription is reported to it by event name.
+function addAdjustListener(eventName, listener) {
+    let subscription = module_adjust_emitter.addListener(eventName, listener);
+    if (Platform.OS !== "android") {
+        return subscription;
+    }
+
+    module_adjust().addListener(eventName);
+    return {
+        remove: function() {
+            if (subscription == null) {
+                return;
+            }
+            subscription.remove();
+            subscription = null;
+            module_adjust().removeListener(eventName);
+        }
+    };
+}
+
+// Android emits attribution changes as just the fields which changed since the previous version.
+// The full attribution is rebuilt here, and fetched as a whole if a version was missed, e.g. after
+// a JS reload. Listeners also get the names of the fields which changed.
+let attribution_mirror = {};
+let attribution_version = 0;
+function onAttributionChange(listener) {
+    return function(change) {
+        if (Platform.OS !== "android") {
+            listener(change);
+            return;
+        }
+        if (change.version === attribution_version + 1) {
+            attribution_mirror = Object.assign({}, attribution_mirror, change.changed);
+            attribution_version = change.version;
+            listener(attribution_mirror, Object.keys(change.changed));
+            return;
+        }
+
+        module_adjust().getAttributionIfChanged(attribution_version, function(snapshot) {
+            if (snapshot.attribution == null || snapshot.version <= attribution_version) {
+                return;
+            }
+            let previous = attribution_mirror;
+            attribution_mirror = snapshot.attribution;
+            attribution_version = snapshot.version;
+            listener(attribution_mirror, Object.keys(attribution_mirror).filter(function(key) {
+                return previous[key] !== attribution_mirror[key];
+            }));
+        });
+    };
+}
+
+// On Android the native module diffs the parameters against the ones it has applied before,
+// elsewhere they are reset and added one by one.
+function setSessionParameters(parameters, setMethod, resetMethod, addMethod) {
+    if (parameters == null || typeof parameters !== 'object') {
+        return;
+    }
+
+    let stringParameters = {};
+    Object.keys(parameters).forEach(function(key) {
+        if (typeof parameters[key] === 'string') {
+            stringParameters[key] = parameters[key];
+        }
+    });
+    if (Platform.OS === "android") {
+        module_adjust()[setMethod](stringParameters);
+        return;
+    }
+
+    module_adjust()[resetMethod]();
+    Object.keys(stringParameters).forEach(function(key) {
+        module_adjust()[addMethod](key, stringParameters[key]);
+    });
+}
+
 // Adjust
 
 var Adjust = {};
 
 Adjust.create = function(adjustConfig) {
-    module_adjust.create(adjustConfig);
+    if (adjustConfig.callbackDeliveryMode === AdjustConfig.CallbackDeliveryModeBatched
+        && null == AdjustConfig.BatchSubscription) {
+        AdjustConfig.BatchSubscription = module_adjust_emitter.addListener(
+            'adjust_batch', function(batch) {
+                batch.events.forEach(function(event) {
+                    module_adjust_emitter.emit(event.name, event.payload);
+                });
+            }
+        );
+    }
+    module_adjust().create(adjustConfig);
 };
 
 Adjust.trackEvent = function(adjustEvent) {
-    module_adjust.trackEvent(adjustEvent);
+    module_adjust().trackEvent(adjustEvent);
+};
+
+Adjust.trackEvents = function(adjustEvents) {
+    if (!Array.isArray(adjustEvents) || adjustEvents.length === 0) {
+        return;
+    }
+    if (Platform.OS === "android") {
+        module_adjust().trackEvents(adjustEvents);
+    } else {
+        adjustEvents.forEach(function(adjustEvent) {
+            module_adjust().trackEvent(adjustEvent);
+        });
+    }
 };
 
 Adjust.setEnabled = function(enabled) {
-    module_adjust.setEnabled(enabled);
+    module_adjust().setEnabled(enabled);
 };
 
 Adjust.isEnabled = function(callback) {
-    module_adjust.isEnabled(callback);
+    module_adjust().isEnabled(callback);
 };
 
 Adjust.setOfflineMode = function(enabled) {
-    module_adjust.setOfflineMode(enabled);
+    module_adjust().setOfflineMode(enabled);
 };
 
 Adjust.setPushToken = function(token) {
-    module_adjust.setPushToken(token);
+    module_adjust().setPushToken(token);
 };
 
 Adjust.appWillOpenUrl = function(uri) {
-    module_adjust.appWillOpenUrl(uri);
+    module_adjust().appWillOpenUrl(uri);
 };
 
 Adjust.sendFirstPackages = function() {
-    module_adjust.sendFirstPackages();
+    module_adjust().sendFirstPackages();
 };
 
 Adjust.trackAdRevenue = function(source, payload) {
-    module_adjust.trackAdRevenue(source, payload);
-}
+    if (typeof source !== 'string' || payload == null) {
+        return;
+    }
+    // Android takes the payload as a map and converts it natively, iOS takes a JSON string.
+    if (Platform.OS === "android") {
+        if (typeof payload === 'string') {
+            try {
+                payload = JSON.parse(payload);
+            } catch (e) {
+                return;
+            }
+        }
+    } else if (typeof payload !== 'string') {
+        payload = JSON.stringify(payload);
+    }
+    module_adjust().trackAdRevenue(source, payload);
+};
 
 Adjust.addSessionCallbackParameter = function(key, value) {
     if (typeof key !== 'string' || typeof value !== 'string') {
         return;
     }
-    module_adjust.addSessionCallbackParameter(key, value);
+    module_adjust().addSessionCallbackParameter(key, value);
 };
 
 Adjust.addSessionPartnerParameter = function(key, value) {
     if (typeof key !== 'string' || typeof value !== 'string') {
         return;
     }
-    module_adjust.addSessionPartnerParameter(key, value);
+    module_adjust().addSessionPartnerParameter(key, value);
 };
 
 Adjust.removeSessionCallbackParameter = function(key) {
-    module_adjust.removeSessionCallbackParameter(key);
+    module_adjust().removeSessionCallbackParameter(key);
 };
 
 Adjust.removeSessionPartnerParameter = function(key) {
-    module_adjust.removeSessionPartnerParameter(key);
+    module_adjust().removeSessionPartnerParameter(key);
 };
 
 Adjust.resetSessionCallbackParameters = function() {
-    module_adjust.resetSessionCallbackParameters();
+    module_adjust().resetSessionCallbackParameters();
 };
 
 Adjust.resetSessionPartnerParameters = function() {
-    module_adjust.resetSessionPartnerParameters();
+    module_adjust().resetSessionPartnerParameters();
+};
+
+Adjust.setSessionCallbackParameters = function(parameters) {
+    setSessionParameters(parameters, "setSessionCallbackParameters",
+        "resetSessionCallbackParameters", "addSessionCallbackParameter");
+};
+
+Adjust.setSessionPartnerParameters = function(parameters) {
+    setSessionParameters(parameters, "setSessionPartnerParameters",
+        "resetSessionPartnerParameters", "addSessionPartnerParameter");
 };
 
 Adjust.gdprForgetMe = function() {
-    module_adjust.gdprForgetMe();
+    module_adjust().gdprForgetMe();
 }
 
 Adjust.getIdfa = function(callback) {
-    module_adjust.getIdfa(callback);
+    module_adjust().getIdfa(callback);
 };
 
 Adjust.getGoogleAdId = function(callback) {
-    module_adjust.getGoogleAdId(callback);
+    module_adjust().getGoogleAdId(callback);
 };
 
 Adjust.getAdid = function(callback) {
-    module_adjust.getAdid(callback);
+    module_adjust().getAdid(callback);
 };
 
 Adjust.getAttribution = function(callback) {
-    module_adjust.getAttribution(callback);
+    module_adjust().getAttribution(callback);
 };
 
 Adjust.getAmazonAdId = function(callback) {
-    module_adjust.getAmazonAdId(callback);
+    module_adjust().getAmazonAdId(callback);
 };
 
 Adjust.getSdkVersion = function(callback) {
-    module_adjust.getSdkVersion("react-native4.18.2", callback);
+    module_adjust().getSdkVersion("react-native4.18.2", callback);
 }
 
+Adjust.getStartupReport = function(callback) {
+    if (Platform.OS !== "android") {
+        callback(null);
+        return;
+    }
+    module_adjust().getStartupReport(callback);
+};
+
+Adjust.getListenerCounts = function(callback) {
+    if (Platform.OS !== "android") {
+        callback(null);
+        return;
+    }
+    module_adjust().getListenerCounts(callback);
+};
+
+Adjust.getJsonResponse = function(handle, callback) {
+    if (Platform.OS !== "android") {
+        callback("");
+        return;
+    }
+    module_adjust().getJsonResponse(handle, callback);
+};
+
+Adjust.getIngestionQueueStats = function(callback) {
+    if (Platform.OS !== "android") {
+        callback(null);
+        return;
+    }
+    module_adjust().getIngestionQueueStats(callback);
+};
+
+Adjust.getTransactionDeduplicationStats = function(callback) {
+    if (Platform.OS !== "android") {
+        callback(null);
+        return;
+    }
+    module_adjust().getTransactionDeduplicationStats(callback);
+};
+
+Adjust.getEventRateLimitStats = function(callback) {
+    if (Platform.OS !== "android") {
+        callback(null);
+        return;
+    }
+    module_adjust().getEventRateLimitStats(callback);
+};
+
+Adjust.getAdRevenueAggregationStats = function(callback) {
+    if (Platform.OS !== "android") {
+        callback(null);
+        return;
+    }
+    module_adjust().getAdRevenueAggregationStats(callback);
+};
+
+Adjust.getMetrics = function(callback) {
+    if (Platform.OS !== "android") {
+        callback(null);
+        return;
+    }
+    module_adjust().getMetrics(callback);
+};
+
+Adjust.resetMetrics = function() {
+    if (Platform.OS !== "android") {
+        return;
+    }
+    module_adjust().resetMetrics();
+};
+
+// Served from a native cache. Synchronous getters are only available on Android
+// and return null elsewhere; the promise based ones work on both platforms.
+
+Adjust.getAdidSync = function() {
+    if (Platform.OS !== "android") {
+        return null;
+    }
+    return module_adjust().getAdidSync();
+};
+
+// The attribution is only returned along with the version if the passed version is out of date.
+Adjust.getAttributionIfChanged = function(version, callback) {
+    if (Platform.OS !== "android") {
+        module_adjust().getAttribution(function(attribution) {
+            callback({version: 0, attribution: attribution});
+        });
+        return;
+    }
+    module_adjust().getAttributionIfChanged(version, callback);
+};
+
+Adjust.getAttributionSync = function() {
+    if (Platform.OS !== "android") {
+        return null;
+    }
+    return module_adjust().getAttributionSync();
+};
+
+Adjust.isEnabledSync = function() {
+    if (Platform.OS !== "android") {
+        return null;
+    }
+    return module_adjust().isEnabledSync();
+};
+
+Adjust.getSdkVersionSync = function() {
+    if (Platform.OS !== "android") {
+        return null;
+    }
+    return module_adjust().getSdkVersionSync("react-native4.18.2");
+};
+
+Adjust.getAdidAsync = function() {
+    if (Platform.OS !== "android") {
+        return new Promise(function(resolve) {
+            module_adjust().getAdid(resolve);
+        });
+    }
+    return module_adjust().getAdidAsync();
+};
+
+Adjust.getAttributionAsync = function() {
+    if (Platform.OS !== "android") {
+        return new Promise(function(resolve) {
+            module_adjust().getAttribution(resolve);
+        });
+    }
+    return module_adjust().getAttributionAsync();
+};
+
+Adjust.isEnabledAsync = function() {
+    if (Platform.OS !== "android") {
+        return new Promise(function(resolve) {
+            module_adjust().isEnabled(resolve);
+        });
+    }
+    return module_adjust().isEnabledAsync();
+};
+
+Adjust.getSdkVersionAsync = function() {
+    if (Platform.OS !== "android") {
+        return new Promise(function(resolve) {
+            module_adjust().getSdkVersion("react-native4.18.2", resolve);
+        });
+    }
+    return module_adjust().getSdkVersionAsync("react-native4.18.2");
+};
+
 Adjust.setReferrer = function(referrer) {
-    module_adjust.setReferrer(referrer);
+    module_adjust().setReferrer(referrer);
 };
 
 Adjust.convertUniversalLink = function(url, scheme, callback) {
     if (!url || !scheme || !callback) {
         return;
     }
-    module_adjust.convertUniversalLink(url, scheme, callback);
+    module_adjust().convertUniversalLink(url, scheme, callback);
 }
 
 Adjust.componentWillUnmount = function() {
@@ -154,6 +437,16 @@ Adjust.componentWillUnmount = function() {
         AdjustConfig.DeferredDeeplinkSubscription.remove();
         AdjustConfig.DeferredDeeplinkSubscription = null;
     }
+
+    if (AdjustConfig.StartupReportSubscription != null) {
+        AdjustConfig.StartupReportSubscription.remove();
+        AdjustConfig.StartupReportSubscription = null;
+    }
+
+    if (AdjustConfig.BatchSubscription != null) {
+        AdjustConfig.BatchSubscription.remove();
+        AdjustConfig.BatchSubscription = null;
+    }
 };
 
 // =========================================== //
@@ -166,25 +459,25 @@ Adjust.teardown = function(testParam) {
         return;
     }
     Adjust.componentWillUnmount();
-    module_adjust.teardown();
+    module_adjust().teardown();
 };
 
 Adjust.setTestOptions = function(testOptions) {
-    module_adjust.setTestOptions(testOptions);
+    module_adjust().setTestOptions(testOptions);
 };
 
 Adjust.onResume = function(testParam) {
     if (testParam === null || testParam === undefined || testParam !== 'test') {
         return;
     }
-    module_adjust.onResume();
+    module_adjust().onResume();
 };
 
 Adjust.onPause = function(testParam) {
     if (testParam === null || testParam === undefined || testParam !== 'test') {
         return;
     }
-    module_adjust.onPause();
+    module_adjust().onPause();
 };
 
 // AdjustConfig
@@ -209,6 +502,18 @@ var AdjustConfig = function(appToken, environment) {
     // Android only
     this.processName = null;
     this.readMobileEquipmentIdentity = null;
+    this.ingestionQueueCapacity = null;
+    this.ingestionQueueOverflowPolicy = null;
+    this.eventRateLimitPerMinute = null;
+    this.eventRateLimitBurst = null;
+    this.eventRateLimitPolicy = null;
+    this.adRevenueAggregationInterval = null;
+    this.adRevenueAggregationMaxCount = null;
+    this.deferredDeeplinkDecisionTimeout = null;
+    this.jsonResponseMode = null;
+    this.jsonResponseMaxLength = null;
+    this.callbackDeliveryMode = null;
+    this.callbackBatchInterval = null;
 };
 
 AdjustConfig.EnvironmentSandbox = "sandbox";
@@ -220,12 +525,26 @@ AdjustConfig.LogLevelWarn = "WARN";
 AdjustConfig.LogLevelError = "ERROR";
 AdjustConfig.LogLevelAssert = "ASSERT";
 AdjustConfig.LogLevelSuppress = "SUPPRESS";
+AdjustConfig.IngestionQueueOverflowBlock = "block";
+AdjustConfig.IngestionQueueOverflowDropNewest = "dropNewest";
+AdjustConfig.IngestionQueueOverflowDropOldest = "dropOldest";
+
+AdjustConfig.EventRateLimitPolicyDrop = "drop";
+AdjustConfig.EventRateLimitPolicyDefer = "defer";
+AdjustConfig.JsonResponseModeFull = "full";
+AdjustConfig.JsonResponseModeOmit = "omit";
+AdjustConfig.JsonResponseModeCapped = "capped";
+AdjustConfig.JsonResponseModeHandle = "handle";
+AdjustConfig.CallbackDeliveryModeImmediate = "immediate";
+AdjustConfig.CallbackDeliveryModeBatched = "batched";
 AdjustConfig.AttributionSubscription = null;
 AdjustConfig.EventTrackingSucceededSubscription = null;
 AdjustConfig.EventTrackingFailedSubscription = null;
 AdjustConfig.SessionTrackingSucceededSubscription = null;
 AdjustConfig.SessionTrackingFailedSubscription = null;
 AdjustConfig.DeferredDeeplinkSubscription = null;
+AdjustConfig.StartupReportSubscription = null;
+AdjustConfig.BatchSubscription = null;
 
 AdjustConfig.prototype.setEventBufferingEnabled = function(isEnabled) {
     this.eventBufferingEnabled = isEnabled;
@@ -285,60 +604,132 @@ AdjustConfig.prototype.setReadMobileEquipmentIdentity = function(readMobileEquip
     // this.readMobileEquipmentIdentity = readMobileEquipmentIdentity;
 };
 
+AdjustConfig.prototype.setIngestionQueueOptions = function(capacity, overflowPolicy) {
+    this.ingestionQueueCapacity = capacity;
+    this.ingestionQueueOverflowPolicy = overflowPolicy;
+};
+
+AdjustConfig.prototype.setEventRateLimit = function(eventsPerMinute, burst, policy) {
+    this.eventRateLimitPerMinute = eventsPerMinute;
+    this.eventRateLimitBurst = burst;
+    this.eventRateLimitPolicy = policy;
+};
+
+AdjustConfig.prototype.setDeferredDeeplinkDecisionTimeout = function(timeoutInMilliseconds) {
+    this.deferredDeeplinkDecisionTimeout = timeoutInMilliseconds;
+};
+
+AdjustConfig.prototype.setAdRevenueAggregation = function(intervalInMilliseconds, maxCount) {
+    this.adRevenueAggregationInterval = intervalInMilliseconds;
+    this.adRevenueAggregationMaxCount = maxCount;
+};
+
+AdjustConfig.prototype.setJsonResponseMode = function(jsonResponseMode, maxLength) {
+    this.jsonResponseMode = jsonResponseMode;
+    if (maxLength != null) {
+        this.jsonResponseMaxLength = maxLength;
+    }
+};
+
+AdjustConfig.prototype.setCallbackDeliveryMode = function(callbackDeliveryMode, batchIntervalInMilliseconds) {
+    this.callbackDeliveryMode = callbackDeliveryMode;
+    if (batchIntervalInMilliseconds != null) {
+        this.callbackBatchInterval = batchIntervalInMilliseconds;
+    }
+};
+
 AdjustConfig.prototype.setShouldLaunchDeeplink = function(shouldLaunchDeeplink) {
     this.shouldLaunchDeeplink = shouldLaunchDeeplink;
 };
 
+// Callback listeners can be set and replaced at any time. On Android callbacks follow the
+// JS listeners, iOS has to be told before create which callbacks to forward.
 AdjustConfig.prototype.setAttributionCallbackListener = function(attributionCallbackListener) {
-    if (null == AdjustConfig.AttributionSubscription) {
-        module_adjust.setAttributionCallbackListener();
-        AdjustConfig.AttributionSubscription = module_adjust_emitter.addListener(
-            'adjust_attribution', attributionCallbackListener
-        );
+    if (null != AdjustConfig.AttributionSubscription) {
+        AdjustConfig.AttributionSubscription.remove();
+    } else if (Platform.OS === "ios") {
+        module_adjust().setAttributionCallbackListener();
     }
+    AdjustConfig.AttributionSubscription = addAdjustListener(
+        'adjust_attribution', onAttributionChange(attributionCallbackListener)
+    );
 };
 
 AdjustConfig.prototype.setEventTrackingSucceededCallbackListener = function(eventTrackingSucceededCallbackListener) {
-    if (null == AdjustConfig.EventTrackingSucceededSubscription) {
-        module_adjust.setEventTrackingSucceededCallbackListener();
-        AdjustConfig.EventTrackingSucceededSubscription = module_adjust_emitter.addListener(
-            'adjust_eventTrackingSucceeded', eventTrackingSucceededCallbackListener
-        );
+    if (null != AdjustConfig.EventTrackingSucceededSubscription) {
+        AdjustConfig.EventTrackingSucceededSubscription.remove();
+    } else if (Platform.OS === "ios") {
+        module_adjust().setEventTrackingSucceededCallbackListener();
     }
+    AdjustConfig.EventTrackingSucceededSubscription = addAdjustListener(
+        'adjust_eventTrackingSucceeded', eventTrackingSucceededCallbackListener
+    );
 };
 
 AdjustConfig.prototype.setEventTrackingFailedCallbackListener = function(eventTrackingFailedCallbackListener) {
-    if (null == AdjustConfig.EventTrackingFailedSubscription) {
-        module_adjust.setEventTrackingFailedCallbackListener();
-        AdjustConfig.EventTrackingFailedSubscription = module_adjust_emitter.addListener(
-            'adjust_eventTrackingFailed', eventTrackingFailedCallbackListener
-        );
+    if (null != AdjustConfig.EventTrackingFailedSubscription) {
+        AdjustConfig.EventTrackingFailedSubscription.remove();
+    } else if (Platform.OS === "ios") {
+        module_adjust().setEventTrackingFailedCallbackListener();
     }
+    AdjustConfig.EventTrackingFailedSubscription = addAdjustListener(
+        'adjust_eventTrackingFailed', eventTrackingFailedCallbackListener
+    );
 };
 
 AdjustConfig.prototype.setSessionTrackingSucceededCallbackListener = function(sessionTrackingSucceededCallbackListener) {
-    if (null == AdjustConfig.SessionTrackingSucceededSubscription) {
-        module_adjust.setSessionTrackingSucceededCallbackListener();
-        AdjustConfig.SessionTrackingSucceededSubscription = module_adjust_emitter.addListener(
-            'adjust_sessionTrackingSucceeded', sessionTrackingSucceededCallbackListener
-        );
+    if (null != AdjustConfig.SessionTrackingSucceededSubscription) {
+        AdjustConfig.SessionTrackingSucceededSubscription.remove();
+    } else if (Platform.OS === "ios") {
+        module_adjust().setSessionTrackingSucceededCallbackListener();
     }
+    AdjustConfig.SessionTrackingSucceededSubscription = addAdjustListener(
+        'adjust_sessionTrackingSucceeded', sessionTrackingSucceededCallbackListener
+    );
 };
 
 AdjustConfig.prototype.setSessionTrackingFailedCallbackListener = function(sessionTrackingFailedCallbackListener) {
-    if (null == AdjustConfig.SessionTrackingFailedSubscription) {
-        module_adjust.setSessionTrackingFailedCallbackListener();
-        AdjustConfig.SessionTrackingFailedSubscription = module_adjust_emitter.addListener(
-            'adjust_sessionTrackingFailed', sessionTrackingFailedCallbackListener
-        );
+    if (null != AdjustConfig.SessionTrackingFailedSubscription) {
+        AdjustConfig.SessionTrackingFailedSubscription.remove();
+    } else if (Platform.OS === "ios") {
+        module_adjust().setSessionTrackingFailedCallbackListener();
     }
+    AdjustConfig.SessionTrackingFailedSubscription = addAdjustListener(
+        'adjust_sessionTrackingFailed', sessionTrackingFailedCallbackListener
+    );
 };
 
 AdjustConfig.prototype.setDeferredDeeplinkCallbackListener = function(deferredDeeplinkCallbackListener) {
-    if (null == AdjustConfig.DeferredDeeplinkSubscription) {
-        module_adjust.setDeferredDeeplinkCallbackListener();
-        AdjustConfig.DeferredDeeplinkSubscription = module_adjust_emitter.addListener(
-            'adjust_deferredDeeplink', deferredDeeplinkCallbackListener
+    if (null != AdjustConfig.DeferredDeeplinkSubscription) {
+        AdjustConfig.DeferredDeeplinkSubscription.remove();
+    } else if (Platform.OS === "ios") {
+        module_adjust().setDeferredDeeplinkCallbackListener();
+    }
+    AdjustConfig.DeferredDeeplinkSubscription = addAdjustListener(
+        'adjust_deferredDeeplink', function(deeplink) {
+            let shouldLaunch = deferredDeeplinkCallbackListener(deeplink);
+            // Only set with a decision timeout on Android. Without an answer, or if the
+            // returned promise is rejected, the timeout fallback applies.
+            if (deeplink == null || deeplink.decisionId == null) {
+                return;
+            }
+            Promise.resolve(shouldLaunch).then(function(value) {
+                if (typeof value === 'boolean') {
+                    module_adjust().resolveDeferredDeeplink(deeplink.decisionId, value);
+                }
+            }, function() {});
+        }
+    );
+};
+
+// Android only
+AdjustConfig.prototype.setStartupReportCallbackListener = function(startupReportCallbackListener) {
+    if (Platform.OS !== "android") {
+        return;
+    }
+    if (null == AdjustConfig.StartupReportSubscription) {
+        AdjustConfig.StartupReportSubscription = addAdjustListener(
+            'adjust_startupReport', startupReportCallbackListener
         );
     }
 };
@@ -0,0 +1,65 @@
+// @flow strict-local
+
+// Codegen spec of the native module. With the new architecture enabled Android
+// serves it as a TurboModule, otherwise this resolves to the bridge module.
+
+import type {TurboModule} from 'react-native/Libraries/TurboModule/RCTExport';
+import * as TurboModuleRegistry from 'react-native/Libraries/TurboModule/TurboModuleRegistry';
+
+export interface Spec extends TurboModule {
+    +create: (config: Object) => void;
+    +trackEvent: (event: Object) => void;
+    +trackEvents: (events: Array<Object>) => void;
+    +setEnabled: (enabled: boolean) => void;
+    +isEnabled: (callback: (isEnabled: boolean) => void) => void;
+    +setReferrer: (referrer: string) => void;
+    +setOfflineMode: (enabled: boolean) => void;
+    +setPushToken: (token: string) => void;
+    +appWillOpenUrl: (url: string) => void;
+    +sendFirstPackages: () => void;
+    +trackAdRevenue: (source: string, payload: Object) => void;
+    +addSessionCallbackParameter: (key: string, value: string) => void;
+    +addSessionPartnerParameter: (key: string, value: string) => void;
+    +removeSessionCallbackParameter: (key: string) => void;
+    +removeSessionPartnerParameter: (key: string) => void;
+    +resetSessionCallbackParameters: () => void;
+    +resetSessionPartnerParameters: () => void;
+    +setSessionCallbackParameters: (parameters: Object) => void;
+    +setSessionPartnerParameters: (parameters: Object) => void;
+    +gdprForgetMe: () => void;
+    +getIdfa: (callback: (idfa: string) => void) => void;
+    +getGoogleAdId: (callback: (googleAdId: ?string) => void) => void;
+    +getAdid: (callback: (adid: ?string) => void) => void;
+    +getAmazonAdId: (callback: (amazonAdId: ?string) => void) => void;
+    +getAttribution: (callback: (attribution: Object) => void) => void;
+    +getSdkVersion: (sdkPrefix: string, callback: (sdkVersion: string) => void) => void;
+    +getAdidSync: () => ?string;
+    +getAttributionIfChanged: (version: number, callback: (snapshot: Object) => void) => void;
+    +getAttributionSync: () => Object;
+    +isEnabledSync: () => boolean;
+    +getSdkVersionSync: (sdkPrefix: string) => string;
+    +getAdidAsync: () => Promise<?string>;
+    +getAttributionAsync: () => Promise<Object>;
+    +isEnabledAsync: () => Promise<boolean>;
+    +getSdkVersionAsync: (sdkPrefix: string) => Promise<string>;
+    +getStartupReport: (callback: (startupReport: Object) => void) => void;
+    +getJsonResponse: (handle: string, callback: (jsonResponse: string) => void) => void;
+    +convertUniversalLink: (url: string, scheme: string, callback: (convertedUrl: string) => void) => void;
+    +resolveDeferredDeeplink: (decisionId: number, shouldLaunch: boolean) => void;
+    +getIngestionQueueStats: (callback: (stats: Object) => void) => void;
+    +getTransactionDeduplicationStats: (callback: (stats: Object) => void) => void;
+    +getEventRateLimitStats: (callback: (stats: Object) => void) => void;
+    +getAdRevenueAggregationStats: (callback: (stats: Object) => void) => void;
+    +addListener: (eventName: string) => void;
+    +removeListener: (eventName: string) => void;
+    +removeListeners: (count: number) => void;
+    +getListenerCounts: (callback: (counts: Object) => void) => void;
+    +getMetrics: (callback: (metrics: Object) => void) => void;
+    +resetMetrics: () => void;
+    +teardown: () => void;
+    +setTestOptions: (testOptions: Object) => void;
+    +onResume: () => void;
+    +onPause: () => void;
+}
+
+export default (TurboModuleRegistry.get<Spec>('Adjust'): ?Spec);